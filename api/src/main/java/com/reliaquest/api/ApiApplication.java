@@ -1,13 +1,26 @@
 package com.reliaquest.api;
 
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.EmployeeWarmUpProperties;
+import com.reliaquest.api.config.UpstreamHttpClientProperties;
+import com.reliaquest.api.config.UpstreamRateLimitProperties;
+import com.reliaquest.api.config.UpstreamResilienceProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableCaching
 @EnableScheduling
+@EnableConfigurationProperties({
+    EmployeeBulkProperties.class,
+    EmployeeCacheProperties.class,
+    EmployeeWarmUpProperties.class,
+    UpstreamHttpClientProperties.class,
+    UpstreamRateLimitProperties.class,
+    UpstreamResilienceProperties.class
+})
 public class ApiApplication {
 
     public static void main(String[] args) {
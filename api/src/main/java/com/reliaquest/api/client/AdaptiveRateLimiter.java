@@ -0,0 +1,189 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamRateLimitProperties;
+import com.reliaquest.api.exception.LocalRateLimitException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Token bucket in front of the Mock Employee API, shaped after its limiter: a budget of requests, then a lockout
+ * window after the last accepted one, after which the full budget is available again. The bucket therefore refills
+ * to {@code capacity} tokens one {@code window} after it was emptied, rather than continuously.
+ *
+ * <p>Both values start from configuration and are learned from the 429s the upstream still answers: the capacity
+ * drops to the number of requests accepted since the last refill, and the window grows whenever a 429 comes straight
+ * after a refill. A {@code Retry-After} header, when present, sets the lockout exactly.
+ *
+ * <p>Callers reserve a token up front. When none is left the reservation is queued for a later window and the caller
+ * is told how long to wait; a reservation further out than {@code maxWait} is rejected instead. A 429 voids the
+ * queued reservations, whose windows were worked out before the lockout was known: once their wait is over, their
+ * callers {@link #confirm(Reservation) confirm} them and are queued again behind the new lockout, or rejected. A
+ * caller that gives up while queued {@link #release(Reservation) releases} its reservation, so the token goes to the
+ * next caller rather than to nobody.
+ */
+public class AdaptiveRateLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveRateLimiter.class);
+
+    private static final double WINDOW_GROWTH = 1.25;
+
+    private final long maxWindowNanos;
+
+    private final long maxWaitNanos;
+
+    private final LongSupplier nanoClock;
+
+    private int capacity;
+
+    private long windowNanos;
+
+    /** Tokens left in the current window; negative when reservations are queued for later windows. */
+    private long tokens;
+
+    /** When the next {@link #capacity} tokens become available; only meaningful while {@code tokens <= 0}. */
+    private long refillAtNanos;
+
+    private long lastAcceptedNanos;
+
+    private int acceptedSinceRefill;
+
+    private boolean refilledAfterLockout;
+
+    /** Number of 429s so far; reservations queued before the latest one are void. */
+    private long lockouts;
+
+    public AdaptiveRateLimiter(UpstreamRateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(UpstreamRateLimitProperties properties, LongSupplier nanoClock) {
+        this.capacity = Math.max(1, properties.getInitialCapacity());
+        this.windowNanos = properties.getInitialWindow().toNanos();
+        this.maxWindowNanos = properties.getMaxWindow().toNanos();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+    }
+
+    /**
+     * @return how long the caller has to wait before sending its request, zero if it may send it now
+     * @throws LocalRateLimitException if the wait would exceed {@code maxWait}
+     */
+    public synchronized Reservation reserve() {
+
+        long now = nanoClock.getAsLong();
+        refill(now);
+
+        if (tokens > 0) {
+            tokens--;
+            if (tokens == 0) {
+                refillAtNanos = now + windowNanos;
+            }
+            return new Reservation(Duration.ZERO, lockouts);
+        }
+
+        // Every earlier reservation ahead of this one takes a token from the upcoming windows in turn.
+        long windowsAhead = -tokens / capacity;
+        long grantAtNanos = refillAtNanos + windowsAhead * windowNanos;
+
+        if (grantAtNanos - now > maxWaitNanos) {
+            throw new LocalRateLimitException(
+                    "Your request limit has been reached. Please try again in some time.");
+        }
+
+        tokens--;
+        return new Reservation(Duration.ofNanos(grantAtNanos - now), lockouts);
+    }
+
+    /**
+     * Called once the wait of a queued reservation is over.
+     *
+     * @return {@code reservation} if the caller may send its request now, or a new reservation to wait for if a 429
+     *     voided it in the meantime
+     * @throws LocalRateLimitException if the new wait would exceed {@code maxWait}
+     */
+    public synchronized Reservation confirm(Reservation reservation) {
+        return reservation.lockout() == lockouts ? reservation : reserve();
+    }
+
+    /**
+     * Gives back the token of a queued reservation whose caller will not send its request after all. A reservation
+     * voided by a 429 holds no token any more and is ignored.
+     */
+    public synchronized void release(Reservation reservation) {
+        if (reservation.lockout() == lockouts && tokens < capacity) {
+            tokens++;
+        }
+    }
+
+    /**
+     * Records a response other than 429.
+     */
+    public synchronized void onAccepted() {
+        lastAcceptedNanos = nanoClock.getAsLong();
+        acceptedSinceRefill++;
+    }
+
+    /**
+     * Records a 429 and locks the bucket until the upstream window is expected to be over.
+     *
+     * @param retryAfter the upstream's {@code Retry-After}, or {@code null} if it sent none
+     */
+    public synchronized void onRateLimited(Duration retryAfter) {
+
+        long now = nanoClock.getAsLong();
+
+        if (acceptedSinceRefill > 0 && acceptedSinceRefill < capacity) {
+            capacity = acceptedSinceRefill;
+        }
+
+        if (retryAfter != null) {
+            refillAtNanos = now + retryAfter.toNanos();
+        } else {
+            if (acceptedSinceRefill == 0 && refilledAfterLockout) {
+                // Still locked out although the window was thought to be over.
+                windowNanos = Math.min(maxWindowNanos, (long) (windowNanos * WINDOW_GROWTH));
+            }
+            refillAtNanos = Math.max(now, (acceptedSinceRefill > 0 ? lastAcceptedNanos : now) + windowNanos);
+        }
+
+        // Queued reservations hold tokens of windows that now open later; they are void and queue again on confirm.
+        tokens = 0;
+        lockouts++;
+        acceptedSinceRefill = 0;
+        refilledAfterLockout = false;
+
+        LOGGER.info(
+                "Mock Employee API rate limit hit, now assuming {} requests per {} ms window, locked for {} ms",
+                capacity,
+                Duration.ofNanos(windowNanos).toMillis(),
+                Duration.ofNanos(refillAtNanos - now).toMillis());
+    }
+
+    private void refill(long now) {
+        while (tokens <= 0 && now - refillAtNanos >= 0) {
+            tokens += capacity;
+            acceptedSinceRefill = 0;
+            refilledAfterLockout = true;
+            if (tokens <= 0) {
+                refillAtNanos += windowNanos;
+            }
+        }
+    }
+
+    /**
+     * @param delay how long to wait before sending the request, or before confirming the reservation if not zero
+     * @param lockout the number of 429s when the reservation was made
+     */
+    public record Reservation(Duration delay, long lockout) {}
+
+    synchronized int getCapacity() {
+        return capacity;
+    }
+
+    synchronized Duration getWindow() {
+        return Duration.ofNanos(windowNanos);
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.EmployeeAPIUnavailableException;
+import java.util.concurrent.Semaphore;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caps the number of calls to the Mock Employee API waiting for a response at once. Calls over the cap fail
+ * immediately instead of queueing behind a slow upstream; a permit is held until the response status arrives.
+ */
+public class BulkheadExchangeFilter implements ExchangeFilterFunction {
+
+    private final int maxConcurrentCalls;
+
+    private final Semaphore permits;
+
+    public BulkheadExchangeFilter(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                return Mono.error(new EmployeeAPIUnavailableException(
+                        "Too many concurrent calls to the Mock Employee API. Please try again in some time."));
+            }
+
+            return next.exchange(request).doFinally(signal -> permits.release());
+        });
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
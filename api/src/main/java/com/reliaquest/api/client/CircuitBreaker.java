@@ -0,0 +1,160 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamResilienceProperties;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker for the Mock Employee API.
+ *
+ * <p>While {@link State#CLOSED} it records the outcome of the last {@code slidingWindowSize} calls and opens once at
+ * least {@code minimumCalls} were made and the failure rate reaches the threshold. While {@link State#OPEN} every
+ * call is refused. After {@code openDuration} it turns {@link State#HALF_OPEN} and lets {@code halfOpenProbes} calls
+ * through: if all succeed it closes, the first failure opens it again.
+ *
+ * <p>Each permitted call must be concluded with exactly one of {@link #onSuccess()}, {@link #onFailure()} or
+ * {@link #onIgnored()}.
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int minimumCalls;
+
+    private final int failureRateThreshold;
+
+    private final long openDurationNanos;
+
+    private final int halfOpenProbes;
+
+    private final LongSupplier nanoClock;
+
+    /** Outcomes of the most recent calls, {@code true} for a failure, used as a ring buffer. */
+    private final boolean[] outcomes;
+
+    private int recordedCalls;
+
+    private int nextOutcome;
+
+    private int failures;
+
+    private State state = State.CLOSED;
+
+    private long openedAtNanos;
+
+    private int probesPermitted;
+
+    private int probesSucceeded;
+
+    public CircuitBreaker(UpstreamResilienceProperties.CircuitBreaker properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CircuitBreaker(UpstreamResilienceProperties.CircuitBreaker properties, LongSupplier nanoClock) {
+        this.outcomes = new boolean[Math.max(1, properties.getSlidingWindowSize())];
+        this.minimumCalls = Math.min(Math.max(1, properties.getMinimumCalls()), outcomes.length);
+        this.failureRateThreshold = properties.getFailureRateThreshold();
+        this.openDurationNanos = properties.getOpenDuration().toNanos();
+        this.halfOpenProbes = Math.max(1, properties.getHalfOpenProbes());
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return whether the call may go to the upstream
+     */
+    public synchronized boolean tryAcquirePermission() {
+
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openDurationNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (probesPermitted < halfOpenProbes) {
+                    probesPermitted++;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+        }
+    }
+
+    /**
+     * Concludes a permitted call that never reached the upstream, so it says nothing about its health.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesPermitted > probesSucceeded) {
+            probesPermitted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /*
+     * Records a call outcome while closed and opens the circuit if the failure rate has reached the threshold.
+     */
+    private void record(boolean failure) {
+        if (recordedCalls == outcomes.length) {
+            if (outcomes[nextOutcome]) {
+                failures--;
+            }
+        } else {
+            recordedCalls++;
+        }
+        outcomes[nextOutcome] = failure;
+        if (failure) {
+            failures++;
+        }
+        nextOutcome = (nextOutcome + 1) % outcomes.length;
+
+        if (recordedCalls >= minimumCalls && failures * 100 >= failureRateThreshold * recordedCalls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State newState) {
+
+        LOGGER.info("Mock Employee API circuit breaker {} -> {}", state, newState);
+
+        state = newState;
+        probesPermitted = 0;
+        probesSucceeded = 0;
+
+        if (newState == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        } else if (newState == State.CLOSED) {
+            recordedCalls = 0;
+            nextOutcome = 0;
+            failures = 0;
+        }
+    }
+}
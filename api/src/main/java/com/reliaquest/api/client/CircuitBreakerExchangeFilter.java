@@ -0,0 +1,68 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.EmployeeAPIUnavailableException;
+import com.reliaquest.api.exception.LocalRateLimitException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Refuses calls while the {@link CircuitBreaker} is open and reports the outcome of the others to it. 5xx responses
+ * and transport errors count as failures. A 429 is not counted at all: it says the upstream is up but throttling,
+ * which the rate limiter already handles, and opening the circuit on it would refuse calls the upstream would take
+ * once its window is over. Neither are calls rejected locally by the rate limiter or the bulkhead, and calls cancelled
+ * by the caller.
+ */
+public class CircuitBreakerExchangeFilter implements ExchangeFilterFunction {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerExchangeFilter(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new EmployeeAPIUnavailableException(
+                        "Mock Employee API is unavailable. Please try again in some time."));
+            }
+
+            AtomicBoolean concluded = new AtomicBoolean();
+
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (concluded.compareAndSet(false, true)) {
+                            if (response.statusCode().is5xxServerError()) {
+                                circuitBreaker.onFailure();
+                            } else if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                                circuitBreaker.onIgnored();
+                            } else {
+                                circuitBreaker.onSuccess();
+                            }
+                        }
+                    })
+                    .doOnError(error -> {
+                        if (concluded.compareAndSet(false, true)) {
+                            if (error instanceof LocalRateLimitException
+                                    || error instanceof EmployeeAPIUnavailableException) {
+                                circuitBreaker.onIgnored();
+                            } else {
+                                circuitBreaker.onFailure();
+                            }
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (concluded.compareAndSet(false, true)) {
+                            circuitBreaker.onIgnored();
+                        }
+                    });
+        });
+    }
+}
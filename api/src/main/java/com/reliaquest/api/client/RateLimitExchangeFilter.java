@@ -0,0 +1,89 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter.Reservation;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends every request through an {@link AdaptiveRateLimiter}: waits for a token without holding a thread, or fails
+ * with the limiter's 429 before the request leaves the api, and reports each response back so the limiter can learn
+ * the upstream budget. A request queued for a later window confirms its reservation when the wait is over, and
+ * waits again if a 429 arrived meanwhile; one cancelled while it waits releases its token. Retries resubscribe to
+ * the exchange and therefore queue for a token again.
+ */
+public class RateLimitExchangeFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    public RateLimitExchangeFilter(AdaptiveRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+
+        return Mono.defer(() -> {
+            Reservation reservation = rateLimiter.reserve();
+
+            Mono<ClientResponse> exchange = next.exchange(request).doOnNext(response -> {
+                if (response.statusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+                    rateLimiter.onRateLimited(retryAfter(response.headers().asHttpHeaders()));
+                } else {
+                    rateLimiter.onAccepted();
+                }
+            });
+
+            return afterDelay(reservation, exchange);
+        });
+    }
+
+    /*
+     * A reservation voided by a 429 during its delay is replaced by the one confirming it returns, and waited for
+     * in turn.
+     */
+    private Mono<ClientResponse> afterDelay(Reservation reservation, Mono<ClientResponse> exchange) {
+
+        if (reservation.delay().isZero()) {
+            return exchange;
+        }
+
+        return Mono.delay(reservation.delay())
+                .doOnCancel(() -> rateLimiter.release(reservation))
+                .then(Mono.defer(() -> {
+                    Reservation confirmed = rateLimiter.confirm(reservation);
+                    return confirmed == reservation ? exchange : afterDelay(confirmed, exchange);
+                }));
+    }
+
+    /*
+     * Retry-After is either a number of seconds or an HTTP date.
+     */
+    private static Duration retryAfter(HttpHeaders headers) {
+
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration untilDate = Duration.between(
+                        ZonedDateTime.now(), ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException notDate) {
+                return null;
+            }
+        }
+    }
+}
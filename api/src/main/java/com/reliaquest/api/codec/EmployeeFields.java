@@ -0,0 +1,115 @@
+package com.reliaquest.api.codec;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.UUID;
+
+/**
+ * The fields of the employee {@link EmployeeJsonDecoder} has just read, handed to the caller's mapping function. A
+ * single instance is reused for every employee of a list, so it must not be kept; the mapping function copies what it
+ * needs into its own representation.
+ *
+ * <p>A salary or age that is absent or {@code null} reads as {@link EmployeeTable#NO_VALUE}.
+ */
+public final class EmployeeFields {
+
+    private boolean hasId;
+
+    private long idMostSignificantBits;
+
+    private long idLeastSignificantBits;
+
+    private String name;
+
+    private int salary;
+
+    private int age;
+
+    private String title;
+
+    private String email;
+
+    EmployeeFields() {
+        reset();
+    }
+
+    void reset() {
+        hasId = false;
+        idMostSignificantBits = 0L;
+        idLeastSignificantBits = 0L;
+        name = null;
+        salary = EmployeeTable.NO_VALUE;
+        age = EmployeeTable.NO_VALUE;
+        title = null;
+        email = null;
+    }
+
+    void setId(long mostSignificantBits, long leastSignificantBits) {
+        hasId = true;
+        idMostSignificantBits = mostSignificantBits;
+        idLeastSignificantBits = leastSignificantBits;
+    }
+
+    void setName(String name) {
+        this.name = name;
+    }
+
+    void setSalary(int salary) {
+        this.salary = salary;
+    }
+
+    void setAge(int age) {
+        this.age = age;
+    }
+
+    void setTitle(String title) {
+        this.title = title;
+    }
+
+    void setEmail(String email) {
+        this.email = email;
+    }
+
+    public Employee toEmployee() {
+        Employee employee = new Employee();
+        employee.setUuid(hasId ? new UUID(idMostSignificantBits, idLeastSignificantBits) : null);
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary == EmployeeTable.NO_VALUE ? null : salary);
+        employee.setEmployeeAge(age == EmployeeTable.NO_VALUE ? null : age);
+        employee.setEmployeeTitle(title);
+        employee.setEmployeeEmail(email);
+        return employee;
+    }
+
+    public boolean hasId() {
+        return hasId;
+    }
+
+    public long getIdMostSignificantBits() {
+        return idMostSignificantBits;
+    }
+
+    public long getIdLeastSignificantBits() {
+        return idLeastSignificantBits;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSalary() {
+        return salary;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,175 @@
+package com.reliaquest.api.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.Status;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Decodes the Mock Employee API's employee list, {@code {"data": [...], "status": "...", "error": "..."}}, with a
+ * streaming {@link JsonParser} instead of data binding. Each employee is read into one reused {@link EmployeeFields}
+ * and handed to a mapping function, so the only objects allocated per employee are the ones the mapping function
+ * keeps: no token tree, no boxed numbers and no intermediate id string.
+ *
+ * <p>Unknown fields are skipped, as data binding does for {@link com.reliaquest.api.model.Employee}. Instances are
+ * thread-safe.
+ */
+public final class EmployeeJsonDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeJsonDecoder() {
+        this(new JsonFactory());
+    }
+
+    public EmployeeJsonDecoder(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * @param in the response body, closed once decoded
+     * @param mapper maps the fields of each employee; must not keep its argument
+     * @return the response, whose data is {@code null} if the body had none
+     * @throws IOException if the body cannot be read or is not an employee list
+     */
+    public <T> EmployeeResponse<List<T>> decode(InputStream in, Function<EmployeeFields, T> mapper)
+            throws IOException {
+
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+
+            List<T> data = null;
+            Status status = null;
+            String error = null;
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "data" -> data = value == JsonToken.VALUE_NULL ? null : readEmployees(parser, value, mapper);
+                    case "status" -> status = value == JsonToken.VALUE_NULL ? null : status(parser);
+                    case "error" -> error = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+            expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+
+            return new EmployeeResponse<>(data, status, error);
+        }
+    }
+
+    private static <T> List<T> readEmployees(JsonParser parser, JsonToken value, Function<EmployeeFields, T> mapper)
+            throws IOException {
+
+        expect(parser, value, JsonToken.START_ARRAY);
+
+        List<T> employees = new ArrayList<>();
+        EmployeeFields fields = new EmployeeFields();
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            expect(parser, token, JsonToken.START_OBJECT);
+            fields.reset();
+            readEmployee(parser, fields);
+            employees.add(mapper.apply(fields));
+        }
+
+        return employees;
+    }
+
+    private static void readEmployee(JsonParser parser, EmployeeFields fields) throws IOException {
+
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> readId(parser, fields);
+                case "employee_name" -> fields.setName(parser.getValueAsString());
+                case "employee_salary" -> fields.setSalary(readInt(parser, value));
+                case "employee_age" -> fields.setAge(readInt(parser, value));
+                case "employee_title" -> fields.setTitle(parser.getValueAsString());
+                case "employee_email" -> fields.setEmail(parser.getValueAsString());
+                default -> parser.skipChildren();
+            }
+        }
+        expect(parser, parser.currentToken(), JsonToken.END_OBJECT);
+    }
+
+    /*
+     * Parses the canonical 8-4-4-4-12 form, the only one data binding accepts from a string, straight from the
+     * parser's buffer.
+     */
+    private static void readId(JsonParser parser, EmployeeFields fields) throws IOException {
+
+        boolean canonical = parser.currentToken() == JsonToken.VALUE_STRING && parser.getTextLength() == 36;
+
+        char[] text = canonical ? parser.getTextCharacters() : null;
+        int offset = canonical ? parser.getTextOffset() : 0;
+
+        long most = 0L;
+        long least = 0L;
+
+        for (int i = 0; i < 36 && canonical; i++) {
+            char c = text[offset + i];
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                canonical = c == '-';
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            canonical = digit >= 0;
+            if (i < 19) {
+                most = most << 4 | digit;
+            } else {
+                least = least << 4 | digit;
+            }
+        }
+
+        if (!canonical) {
+            throw new JsonParseException(parser, "Invalid employee id " + parser.getText());
+        }
+        fields.setId(most, least);
+    }
+
+    private static int readInt(JsonParser parser, JsonToken value) throws IOException {
+
+        if (value == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        if (value == JsonToken.VALUE_STRING) {
+            try {
+                return Integer.parseInt(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                throw new JsonParseException(parser, "Invalid number " + parser.getText(), e);
+            }
+        }
+        throw new JsonParseException(parser, "Expected a number but got " + value);
+    }
+
+    private static Status status(JsonParser parser) throws IOException {
+
+        String value = parser.getValueAsString();
+        for (Status status : Status.values()) {
+            if (status.getValue().equals(value)) {
+                return status;
+            }
+        }
+        throw new JsonParseException(parser, "Unknown status " + value);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but got " + actual);
+        }
+    }
+}
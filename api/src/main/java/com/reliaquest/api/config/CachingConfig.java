@@ -1,25 +1,18 @@
 package com.reliaquest.api.config;
 
-import java.util.Arrays;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
+/**
+ * Timings of the in-memory employee snapshot kept by {@code EmployeeSnapshotStore}.
+ */
+public final class CachingConfig {
 
-@Configuration
-public class CachingConfig {
+    /** Age after which a snapshot is considered expired. Refreshes are scheduled to land well before this. */
+    public static final long EMP_CACHE_TTL = 60L * 1000L;
 
-    public static final String EMP_CACHE = "employeedetails";
+    /** Age at which the background refresher starts reloading the snapshot. */
+    public static final long EMP_CACHE_REFRESH_AHEAD = 45L * 1000L;
 
-    public static final long EMP_CACHE_TTL = 60L * 1000L;
+    /** How often the background refresher checks whether the snapshot is due or has been marked stale. */
+    public static final long EMP_CACHE_REFRESH_CHECK_INTERVAL = 1000L;
 
-    @Bean
-    @Primary
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setAsyncCacheMode(true);
-        cacheManager.setCacheNames(Arrays.asList(EMP_CACHE));
-        return cacheManager;
-    }
+    private CachingConfig() {}
 }
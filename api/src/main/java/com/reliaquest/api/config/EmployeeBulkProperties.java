@@ -0,0 +1,37 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "emp.bulk")
+public class EmployeeBulkProperties {
+
+    /**
+     * Creates of one bulk request in flight at a time. Each holds at most one reservation with the client-side rate
+     * limiter, so a bulk import never queues more than this many calls ahead of interactive requests.
+     */
+    private int maxConcurrency = 4;
+
+    /**
+     * Times an item is resubmitted after it was turned away for the rate budget, locally or by a 429 from the Mock
+     * Employee API, before it is reported as failed. Bulk items have no other retries.
+     */
+    private int rateLimitRetries = 10;
+
+    /** Pause before such a resubmission, roughly one upstream rate limit window. */
+    private Duration rateLimitBackoff = Duration.ofSeconds(30);
+
+    /** Created employees patched into the snapshot together, at most. */
+    private int patchBatchSize = 100;
+
+    /** Longest a created employee waits for its batch to fill before it is patched in and reported. */
+    private Duration patchInterval = Duration.ofSeconds(1);
+
+    /**
+     * Longest a bulk request on the servlet stack may run, in place of {@code spring.mvc.async.request-timeout}, which
+     * a paced import easily outlasts. Unset, it has no limit.
+     */
+    private Duration requestTimeout;
+}
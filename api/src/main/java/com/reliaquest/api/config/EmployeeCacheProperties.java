@@ -0,0 +1,37 @@
+package com.reliaquest.api.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "emp.cache")
+public class EmployeeCacheProperties {
+
+    /**
+     * How long a snapshot is trusted to be complete for id lookups. An id missing from a snapshot younger than this
+     * is answered with 404 locally; past it, the lookup falls back to the Mock Employee API.
+     */
+    private Duration idLookupFreshness = Duration.ofSeconds(10);
+
+    /**
+     * Whether to keep the snapshot's employees in direct memory outside the heap, so that garbage collection does not
+     * grow with their number. Direct memory is capped by {@code -XX:MaxDirectMemorySize}, which defaults to the heap
+     * size.
+     */
+    private boolean offHeap = false;
+
+    /**
+     * File the snapshot is saved to after every full load, and mapped from at startup so that requests are answered
+     * from the saved employees while a background reload revalidates them. Unset, nothing is saved.
+     */
+    private Path snapshotFile;
+
+    /**
+     * Largest employee list body read from the Mock Employee API. The body is held in memory while it is decoded, so
+     * a larger one fails the load rather than the heap; the previous snapshot is then kept.
+     */
+    private DataSize maxListSize = DataSize.ofMegabytes(64);
+}
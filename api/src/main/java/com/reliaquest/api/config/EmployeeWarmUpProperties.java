@@ -0,0 +1,25 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "emp.warm-up")
+public class EmployeeWarmUpProperties {
+
+    /** Whether the api loads the snapshot and exercises its endpoints before reporting itself ready. */
+    private boolean enabled = true;
+
+    /**
+     * How long to wait for the employee snapshot, restored from the snapshot file or loaded from the Mock Employee
+     * API. Past it, or if the upstream fails, the warm-up falls back to exercising the indexes on generated employees.
+     */
+    private Duration snapshotTimeout = Duration.ofSeconds(20);
+
+    /** Requests sent to each hot endpoint once the snapshot is in, enough for the JIT to compile their paths. */
+    private int requestsPerEndpoint = 300;
+
+    /** Time after which the api reports itself ready however far the warm-up got. */
+    private Duration timeout = Duration.ofSeconds(60);
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "emp.http-client")
+public class UpstreamHttpClientProperties {
+
+    /** Connections to the Mock Employee API kept in the pool at most. */
+    private int maxConnections = 50;
+
+    /** Requests allowed to wait for a pooled connection; further ones fail at once. */
+    private int pendingAcquireMaxCount = 500;
+
+    /** How long a request waits for a pooled connection before failing. */
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+    /** Idle time after which a pooled connection is closed. */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+
+    /** Age after which a pooled connection is closed once released, to spread load after upstream restarts. */
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+
+    /** Interval of the background sweep that closes idle and expired connections. */
+    private Duration evictionInterval = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Longest silence on a connection before it is dropped, whatever it is waiting for. It covers the wait for the
+     * response too, so anything shorter than {@link #responseTimeout} would cut upstream calls off before it.
+     */
+    private Duration readTimeout = Duration.ofMinutes(2);
+
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Longest wait for the response once the request is sent, and then between two reads of it. Reactor Netty restarts
+     * it on every read, so it does not bound the whole exchange: a response trickling in keeps the call alive.
+     */
+    private Duration responseTimeout = Duration.ofMinutes(2);
+
+    /**
+     * Talk HTTP/2 over cleartext (h2c, prior knowledge) instead of HTTP/1.1, multiplexing calls over few connections.
+     * The Mock Employee API accepts it with {@code server.http2.enabled}.
+     */
+    private boolean h2c = false;
+}
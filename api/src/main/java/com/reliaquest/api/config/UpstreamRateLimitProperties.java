@@ -0,0 +1,28 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "emp.rate-limit")
+public class UpstreamRateLimitProperties {
+
+    /** Whether calls to the Mock Employee API are shaped by the client-side rate limiter. */
+    private boolean enabled = true;
+
+    /**
+     * Requests allowed per window before the upstream budget is known. The limiter lowers it to the number of
+     * requests the upstream actually accepted once it answers 429.
+     */
+    private int initialCapacity = 10;
+
+    /** Lockout after the budget is spent, before the upstream window is known. Lengthened when it proves too short. */
+    private Duration initialWindow = Duration.ofSeconds(30);
+
+    /** Upper bound for the learned window. */
+    private Duration maxWindow = Duration.ofMinutes(2);
+
+    /** Longest a call is queued locally for a token; calls that would wait longer are rejected with 429 at once. */
+    private Duration maxWait = Duration.ofSeconds(30);
+}
@@ -0,0 +1,44 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "emp.resilience")
+public class UpstreamResilienceProperties {
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private final Bulkhead bulkhead = new Bulkhead();
+
+    @Data
+    public static class CircuitBreaker {
+
+        private boolean enabled = true;
+
+        /** Number of most recent calls the failure rate is computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Calls needed in the window before the failure rate may open the circuit. */
+        private int minimumCalls = 10;
+
+        /** Failure rate, in percent, at which the circuit opens. */
+        private int failureRateThreshold = 50;
+
+        /** How long the circuit stays open before letting probe calls through. */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /** Probe calls let through while half-open; all must succeed to close the circuit again. */
+        private int halfOpenProbes = 3;
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        private boolean enabled = true;
+
+        /** Calls to the Mock Employee API allowed in flight at once; further calls are rejected. */
+        private int maxConcurrentCalls = 32;
+    }
+}
@@ -1,12 +1,24 @@
 package com.reliaquest.api.config;
 
-import java.time.Duration;
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.BulkheadExchangeFilter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.CircuitBreakerExchangeFilter;
+import com.reliaquest.api.client.RateLimitExchangeFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 @Configuration
 public class WebClientConfig {
@@ -14,16 +26,83 @@ public class WebClientConfig {
     @Value("${emp.service.url}")
     private String baseUrl;
 
+    /**
+     * Filters run in the order they are added: the circuit breaker refuses calls first, then the rate limiter waits
+     * for a token, and only then does the bulkhead take a slot, so that slots are held by calls actually in flight.
+     */
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(
+            ConnectionProvider connectionProvider,
+            UpstreamHttpClientProperties httpClientProperties,
+            UpstreamRateLimitProperties rateLimitProperties,
+            UpstreamResilienceProperties resilienceProperties,
+            MeterRegistry meterRegistry) {
 
-        HttpClient httpClient = HttpClient.create().responseTimeout(Duration.ofMinutes(2));
+        HttpClient httpClient = buildHttpClient(connectionProvider, httpClientProperties);
 
-        WebClient webClient = WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .baseUrl(baseUrl)
-                .build();
+        WebClient.Builder webClientBuilder =
+                WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+
+        if (resilienceProperties.getCircuitBreaker().isEnabled()) {
+            CircuitBreaker circuitBreaker = new CircuitBreaker(resilienceProperties.getCircuitBreaker());
+
+            Gauge.builder("employee.upstream.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                    .description("State of the Mock Employee API circuit breaker: 0 closed, 1 half-open, 2 open")
+                    .register(meterRegistry);
+
+            webClientBuilder.filter(new CircuitBreakerExchangeFilter(circuitBreaker));
+        }
+
+        if (rateLimitProperties.isEnabled()) {
+            webClientBuilder.filter(new RateLimitExchangeFilter(new AdaptiveRateLimiter(rateLimitProperties)));
+        }
+
+        if (resilienceProperties.getBulkhead().isEnabled()) {
+            BulkheadExchangeFilter bulkhead =
+                    new BulkheadExchangeFilter(resilienceProperties.getBulkhead().getMaxConcurrentCalls());
+
+            Gauge.builder("employee.upstream.bulkhead.active", bulkhead, BulkheadExchangeFilter::getActiveCalls)
+                    .description("Calls to the Mock Employee API currently holding a bulkhead slot")
+                    .register(meterRegistry);
+
+            webClientBuilder.filter(bulkhead);
+        }
+
+        WebClient webClient = webClientBuilder.baseUrl(baseUrl).build();
 
         return webClient;
     }
+
+    /**
+     * Pooled connections are reused across calls, so bursts do not pay a TCP handshake each. The pool publishes its
+     * occupancy as {@code reactor.netty.connection.provider.*} gauges through the global Micrometer registry.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider(UpstreamHttpClientProperties properties) {
+
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictionInterval())
+                .metrics(true)
+                .build();
+    }
+
+    private static HttpClient buildHttpClient(
+            ConnectionProvider connectionProvider, UpstreamHttpClientProperties properties) {
+
+        return HttpClient.create(connectionProvider)
+                .protocol(properties.isH2c() ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout())
+                // Fires on any silent connection, so it has to be at least the response timeout to let that apply.
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(
+                                properties.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(
+                                properties.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)));
+    }
 }
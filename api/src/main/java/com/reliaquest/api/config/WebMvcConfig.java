@@ -0,0 +1,27 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.controller.SnapshotETagInterceptor;
+import com.reliaquest.api.service.EmployeeService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Servlet-mode request handling. The reactive controller does its conditional GETs itself.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final EmployeeService employeeService;
+
+    public WebMvcConfig(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SnapshotETagInterceptor(employeeService));
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.api.controller;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.exception.EmployeeAPIClientException;
+import com.reliaquest.api.model.EmployeeCreation;
+import com.reliaquest.api.model.EmployeeRegister;
+import com.reliaquest.api.service.EmployeeService;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bulk create for the servlet stack. The body, a JSON array or newline-delimited JSON of employees to create, is read
+ * one employee at a time as the service asks for more, so an import of any size is never held in memory whole. The
+ * per-item results are streamed back as newline-delimited JSON, or collected into one array for
+ * {@code Accept: application/json}. {@link ReactiveEmployeeController} serves the same route on the reactive stack.
+ *
+ * <p>A paced import can run far longer than {@code spring.mvc.async.request-timeout}, which would end the response
+ * and cancel the import halfway. The results are therefore written through a {@link ResponseBodyEmitter} with
+ * {@code emp.bulk.request-timeout} of its own, unbounded unless set.
+ *
+ * @author Kedar10
+ *
+ */
+@RestController
+@RequestMapping("api/v2/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class EmployeeBulkController {
+
+    private final EmployeeService employeeService;
+
+    private final ObjectReader employeeInputReader;
+
+    private final EmployeeBulkProperties bulkProperties;
+
+    public EmployeeBulkController(
+            EmployeeService employeeService, ObjectMapper objectMapper, EmployeeBulkProperties bulkProperties) {
+        this.employeeService = employeeService;
+        this.employeeInputReader = objectMapper.readerFor(EmployeeRegister.class);
+        this.bulkProperties = bulkProperties;
+    }
+
+    /** Asynchronous request timeout the servlet container reads as none. */
+    private static final long NO_TIMEOUT = -1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeBulkController.class);
+
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ResponseBodyEmitter> createEmployees(
+            InputStream body, @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        LOGGER.info("Inside createEmployees method : EmployeeBulkController");
+
+        Flux<EmployeeCreation> creations = employeeService
+                .createEmployees(readEmployeeInputs(body))
+                .doOnError(exception -> LOGGER.info("Exception occurred while creating employees in bulk"));
+
+        Duration requestTimeout = bulkProperties.getRequestTimeout();
+        ResponseBodyEmitter emitter =
+                new ResponseBodyEmitter(requestTimeout == null ? NO_TIMEOUT : requestTimeout.toMillis());
+
+        MediaType contentType;
+        Disposable subscription;
+
+        if (acceptsArrayOnly(accept)) {
+            contentType = MediaType.APPLICATION_JSON;
+            subscription = creations
+                    .collectList()
+                    .subscribe(
+                            results -> send(emitter, results, false), emitter::completeWithError, emitter::complete);
+        } else {
+            contentType = MediaType.APPLICATION_NDJSON;
+            subscription = creations.subscribe(
+                    creation -> send(emitter, creation, true), emitter::completeWithError, emitter::complete);
+        }
+
+        // A response ended by the timeout or the client going away stops the import as well.
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(exception -> subscription.dispose());
+        emitter.onCompletion(subscription::dispose);
+
+        return ResponseEntity.ok().contentType(contentType).body(emitter);
+    }
+
+    /*
+     * The results are streamed unless the client asked for application/json and not for newline-delimited JSON.
+     */
+    private static boolean acceptsArrayOnly(String accept) {
+
+        if (accept == null) {
+            return false;
+        }
+
+        List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+        return accepted.stream().anyMatch(MediaType.APPLICATION_JSON::equalsTypeAndSubtype)
+                && accepted.stream().noneMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+    }
+
+    /*
+     * A failed write, typically to a client that has gone away, is rethrown so that it cancels the import.
+     */
+    private static void send(ResponseBodyEmitter emitter, Object result, boolean lineDelimited) {
+        try {
+            emitter.send(result, MediaType.APPLICATION_JSON);
+            if (lineDelimited) {
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /*
+     * A root-level array is unwrapped by the reader, so arrays and newline-delimited JSON come out the same. The body
+     * is read with blocking I/O, off the request thread.
+     */
+    private Flux<EmployeeRegister> readEmployeeInputs(InputStream body) {
+
+        return Flux.defer(() -> {
+                    try {
+                        MappingIterator<EmployeeRegister> employeeInputs = employeeInputReader.readValues(body);
+                        return Flux.fromIterable(() -> employeeInputs);
+                    } catch (IOException exception) {
+                        return Flux.error(exception);
+                    }
+                })
+                // The iterator rethrows parse errors unchecked, with the IOException as cause.
+                .onErrorMap(
+                        exception -> exception instanceof IOException || exception.getCause() instanceof IOException,
+                        exception -> new EmployeeAPIClientException(
+                                "Malformed employee in bulk create request: " + exception.getMessage(), exception))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -29,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping("api/v2/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController implements IEmployeeController<Employee, EmployeeRegister> {
 
     private final EmployeeService employeeService;
@@ -39,6 +41,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeController.class);
 
+    @SnapshotETag
     @GetMapping()
     public ResponseEntity<List<Employee>> getAllEmployees() {
 
@@ -70,6 +73,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         }
     }
 
+    @SnapshotETag
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(
             @PathVariable(value = "searchString", required = false) String searchString) {
@@ -134,6 +138,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         }
     }
 
+    @SnapshotETag
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
 
@@ -165,6 +170,7 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         }
     }
 
+    @SnapshotETag
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
 
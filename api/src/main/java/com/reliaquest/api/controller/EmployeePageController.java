@@ -0,0 +1,54 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.EmployeeAPIClientException;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cursor-paginated variant of {@code getAllEmployees} for clients that cannot take the whole list in one response.
+ * Each page carries an opaque {@code next_cursor} to pass back for the following page; it is absent on the last page.
+ *
+ * @author Kedar10
+ *
+ */
+@RestController
+@RequestMapping("api/v2/employees")
+public class EmployeePageController {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final EmployeeService employeeService;
+
+    public EmployeePageController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeePageController.class);
+
+    /**
+     * @param limit maximum number of employees in the page, 1 to {@value #MAX_LIMIT}
+     * @param cursor {@code next_cursor} of the previous page, omitted for the first page
+     */
+    @GetMapping("/page")
+    public Mono<EmployeePage> getEmployeePage(
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        LOGGER.info("Inside getEmployeePage method : EmployeePageController");
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new EmployeeAPIClientException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        return employeeService
+                .getEmployeePage(limit, cursor)
+                .doOnError(exception -> LOGGER.info("Exception occurred while fetching employee page"));
+    }
+}
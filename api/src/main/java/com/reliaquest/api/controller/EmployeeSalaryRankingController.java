@@ -0,0 +1,71 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.EmployeeAPIClientException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryRankDirection;
+import com.reliaquest.api.service.EmployeeService;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Top-k / bottom-k salary queries over the cached employee snapshot, for dashboards that previously fetched every
+ * employee and sorted on the client. Returns a {@link Flux}, so it serves both the servlet and the reactive mode and
+ * streams when the client asks for {@code application/x-ndjson}.
+ *
+ * @author Kedar10
+ *
+ */
+@RestController
+@RequestMapping("api/v2/employees")
+public class EmployeeSalaryRankingController {
+
+    static final int MAX_K = 1000;
+
+    private final EmployeeService employeeService;
+
+    public EmployeeSalaryRankingController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSalaryRankingController.class);
+
+    /**
+     * @param k number of employees to return, 1 to {@value #MAX_K}
+     * @param direction {@code top} for the best paid, {@code bottom} for the worst paid
+     * @param title optional job title to restrict to, case-insensitive
+     * @param minAge optional inclusive lower age bound
+     * @param maxAge optional inclusive upper age bound
+     */
+    @GetMapping("/salaryRanking")
+    public Flux<Employee> getEmployeesBySalaryRank(
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "direction", defaultValue = "top") String direction,
+            @RequestParam(value = "title", required = false) String title,
+            @RequestParam(value = "minAge", required = false) Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge) {
+
+        LOGGER.info("Inside getEmployeesBySalaryRank method : EmployeeSalaryRankingController");
+
+        if (k < 1 || k > MAX_K) {
+            throw new EmployeeAPIClientException("k must be between 1 and " + MAX_K);
+        }
+
+        return employeeService
+                .rankEmployeesBySalary(k, parseDirection(direction), title, minAge, maxAge)
+                .doOnError(exception -> LOGGER.info("Exception occurred while ranking employees by salary"));
+    }
+
+    private static SalaryRankDirection parseDirection(String direction) {
+        try {
+            return SalaryRankDirection.valueOf(direction.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new EmployeeAPIClientException("direction must be 'top' or 'bottom'");
+        }
+    }
+}
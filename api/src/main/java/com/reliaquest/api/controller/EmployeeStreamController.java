@@ -0,0 +1,43 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming variant of {@code getAllEmployees}, chosen by content negotiation on the same route: clients sending
+ * {@code Accept: application/x-ndjson} or {@code Accept: text/event-stream} get the employees one by one, straight
+ * from the cached snapshot and subject to backpressure, instead of a single JSON array built in memory. Every other
+ * request is still answered by {@link IEmployeeController#getAllEmployees()}.
+ *
+ * @author Kedar10
+ *
+ */
+@RestController
+@RequestMapping("api/v2/employees")
+public class EmployeeStreamController {
+
+    private final EmployeeService employeeService;
+
+    public EmployeeStreamController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeStreamController.class);
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<Employee> streamAllEmployees() {
+
+        LOGGER.info("Inside streamAllEmployees method : EmployeeStreamController");
+
+        return employeeService
+                .streamEmployees()
+                .doOnError(exception -> LOGGER.info("Exception occurred while streaming employee details"));
+    }
+}
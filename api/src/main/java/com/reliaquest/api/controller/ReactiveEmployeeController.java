@@ -0,0 +1,192 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.EmployeeAPIClientException;
+import com.reliaquest.api.exception.EmployeeAPIServerException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeCreation;
+import com.reliaquest.api.model.EmployeeRegister;
+import com.reliaquest.api.service.EmployeeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link EmployeeController}, active only when the api runs as a reactive web application
+ * (profile {@code reactive}). It exposes the same routes, payloads and status codes as the
+ * {@link IEmployeeController} contract, but every handler returns a {@link Mono} so no request ever holds a thread
+ * while waiting on the Mock Employee API.
+ *
+ * <p>The list, search, highest salary and top ten routes support conditional GETs against the snapshot's entity tag,
+ * like the servlet controller's {@link SnapshotETag} routes.
+ *
+ * @author Kedar10
+ *
+ */
+@RestController
+@RequestMapping("api/v2/employees")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private final EmployeeService employeeService;
+
+    public ReactiveEmployeeController(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees(ServerWebExchange exchange) {
+
+        LOGGER.info("Inside getAllEmployees method : ReactiveEmployeeController");
+
+        if (isNotModified(exchange)) {
+            return Mono.empty();
+        }
+
+        return employeeService
+                .getEmployees()
+                .map(employeeInfos -> new ResponseEntity<List<Employee>>(employeeInfos, HttpStatus.OK))
+                .doOnError(exception -> LOGGER.info("Exception occurred while fetching employee details"));
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable(value = "searchString", required = false) String searchString, ServerWebExchange exchange) {
+
+        LOGGER.info("Inside getEmployeesByNameSearch method : ReactiveEmployeeController");
+
+        if (isNotModified(exchange)) {
+            return Mono.empty();
+        }
+
+        return employeeService
+                .findEmployeesByName(searchString)
+                .doOnNext(employeeInfos ->
+                        LOGGER.info("Employee names which contains {} : {}", searchString, employeeInfos))
+                .map(employeeInfos -> new ResponseEntity<List<Employee>>(employeeInfos, HttpStatus.OK))
+                .doOnError(exception -> LOGGER.info(
+                        "Exception occurred while fetching employee details by string input provided: {}",
+                        searchString));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable(value = "id") String id) {
+
+        LOGGER.info("Inside getEmployeeById method : ReactiveEmployeeController");
+
+        return employeeService
+                .getEmployeeInfoById(id)
+                .map(employeeInfoById -> new ResponseEntity<Employee>(employeeInfoById, HttpStatus.OK))
+                .doOnError(exception -> LOGGER.info("Exception occurred while fetching employees by id: {}", id));
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees(ServerWebExchange exchange) {
+
+        LOGGER.info("Inside getHighestSalaryOfEmployees method : ReactiveEmployeeController");
+
+        if (isNotModified(exchange)) {
+            return Mono.empty();
+        }
+
+        return employeeService
+                .findHighestSalary()
+                .doOnNext(highestSalary -> LOGGER.info("Highest salary of amongst all employees : {}", highestSalary))
+                .map(highestSalary -> new ResponseEntity<Integer>(highestSalary, HttpStatus.OK))
+                .doOnError(exception -> LOGGER.info("Exception occurred while fetching employees highest salary"));
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames(ServerWebExchange exchange) {
+
+        LOGGER.info("Inside getTopTenHighestEarningEmployeeNames method : ReactiveEmployeeController");
+
+        if (isNotModified(exchange)) {
+            return Mono.empty();
+        }
+
+        return employeeService
+                .findTopTenHighestEarningEmployeeNames()
+                .doOnNext(top10EmployeeNames ->
+                        LOGGER.info("Top Ten highest salary employees names : {}", top10EmployeeNames))
+                .map(top10EmployeeNames -> new ResponseEntity<List<String>>(top10EmployeeNames, HttpStatus.OK))
+                .doOnError(exception ->
+                        LOGGER.info("Exception occurred while fetching top ten highest employees highest salary"));
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody EmployeeRegister employeeInput) {
+
+        LOGGER.info("Inside createEmployee method : ReactiveEmployeeController");
+
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(employee -> new ResponseEntity<Employee>(employee, HttpStatus.OK))
+                .doOnError(exception -> LOGGER.info("Exception occurred while creating employees"));
+    }
+
+    /**
+     * Bulk create. The body, a JSON array or newline-delimited JSON, is decoded one employee at a time as the service
+     * asks for more; results are streamed back as they complete.
+     */
+    @PostMapping(
+            value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<EmployeeCreation> createEmployees(@RequestBody Flux<EmployeeRegister> employeeInputs) {
+
+        LOGGER.info("Inside createEmployees method : ReactiveEmployeeController");
+
+        return employeeService
+                .createEmployees(employeeInputs.onErrorMap(
+                        DecodingException.class,
+                        exception -> new EmployeeAPIClientException(
+                                "Malformed employee in bulk create request: " + exception.getMessage(), exception)))
+                .doOnError(exception -> LOGGER.info("Exception occurred while creating employees in bulk"));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable(value = "id") String id) {
+
+        LOGGER.info("Inside deleteEmployeeById method : ReactiveEmployeeController");
+
+        return employeeService
+                .getEmployeeInfoById(id)
+                .flatMap(employeeInfoById -> employeeService
+                        .deleteEmployee(employeeInfoById)
+                        .flatMap(result -> result
+                                ? Mono.just(employeeInfoById.getEmployeeName())
+                                : Mono.error(new EmployeeAPIServerException(
+                                        "Exception occurred while deleting employee by id"))))
+                .map(employeeName -> new ResponseEntity<String>(employeeName, HttpStatus.OK))
+                .doOnError(exception -> LOGGER.info("Exception occurred while fetching employees by id: {}", id));
+    }
+
+    /*
+     * Answers 304 when If-None-Match names the current snapshot, before anything is read or serialized; otherwise
+     * sets the ETag header. Before the first snapshot is loaded there is no tag and the response goes out untagged.
+     */
+    private boolean isNotModified(ServerWebExchange exchange) {
+
+        String eTag = employeeService.getSnapshotETag();
+
+        return eTag != null && exchange.checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.api.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a servlet handler method whose response is derived entirely from the employee snapshot, so that
+ * {@link SnapshotETagInterceptor} can tag it with the snapshot's version and answer {@code If-None-Match} with
+ * {@code 304 Not Modified} before the handler runs.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SnapshotETag {}
@@ -0,0 +1,42 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.EmployeeService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GET for handlers marked {@link SnapshotETag}. A request whose {@code If-None-Match} names the current
+ * snapshot is answered with {@code 304 Not Modified} here, so neither the handler nor the message converters run;
+ * any other request gets the tag as its {@code ETag} header and proceeds.
+ *
+ * <p>The tag cannot be added by the handlers themselves, whose signatures are fixed by {@link IEmployeeController}.
+ */
+public class SnapshotETagInterceptor implements HandlerInterceptor {
+
+    private final EmployeeService employeeService;
+
+    public SnapshotETagInterceptor(EmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(SnapshotETag.class)) {
+            return true;
+        }
+
+        String eTag = employeeService.getSnapshotETag();
+
+        if (eTag == null) {
+            // The handler loads the first snapshot; its response goes out untagged.
+            return true;
+        }
+
+        return !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised without calling the Mock Employee API when it is considered down (circuit open) or already has as many
+ * calls in flight as the api allows (bulkhead full).
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class EmployeeAPIUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EmployeeAPIUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised by the client-side rate limiter when a call to the Mock Employee API is rejected before being sent, because
+ * the upstream budget is spent for longer than the caller may wait. Retrying it immediately cannot succeed.
+ */
+@ResponseStatus(value = HttpStatus.TOO_MANY_REQUESTS)
+public class LocalRateLimitException extends EmployeeRateLimitException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LocalRateLimitException(String message) {
+        super(message);
+    }
+}
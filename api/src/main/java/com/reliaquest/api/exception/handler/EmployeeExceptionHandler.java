@@ -2,6 +2,7 @@ package com.reliaquest.api.exception.handler;
 
 import com.reliaquest.api.exception.EmployeeAPIClientException;
 import com.reliaquest.api.exception.EmployeeAPIServerException;
+import com.reliaquest.api.exception.EmployeeAPIUnavailableException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeRateLimitException;
 import com.reliaquest.api.exception.ErrorResponse;
@@ -13,10 +14,11 @@ import java.util.stream.Collectors;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 @RestControllerAdvice
 public class EmployeeExceptionHandler {
@@ -40,8 +42,7 @@ public class EmployeeExceptionHandler {
     }
 
     @ExceptionHandler(EmployeeNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleNotFoundException(
-            EmployeeNotFoundException exception, WebRequest request) {
+    public ResponseEntity<ErrorResponse> handleNotFoundException(EmployeeNotFoundException exception) {
 
         ErrorResponse error =
                 getErrorResponse(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(), exception.getMessage());
@@ -51,15 +52,12 @@ public class EmployeeExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException exception) {
-        Map<String, List<String>> body = new HashMap<>();
-
-        List<String> errors = exception.getBindingResult().getFieldErrors().stream()
-                .map(DefaultMessageSourceResolvable::getDefaultMessage)
-                .collect(Collectors.toList());
-
-        body.put("errors", errors);
+        return getValidationErrorResponse(exception.getBindingResult());
+    }
 
-        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleWebExchangeBind(WebExchangeBindException exception) {
+        return getValidationErrorResponse(exception.getBindingResult());
     }
 
     @ExceptionHandler(EmployeeRateLimitException.class)
@@ -71,6 +69,15 @@ public class EmployeeExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
     }
 
+    @ExceptionHandler(EmployeeAPIUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUnavailableException(EmployeeAPIUnavailableException exception) {
+
+        ErrorResponse error =
+                getErrorResponse(LocalDateTime.now(), HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
     @ExceptionHandler(Throwable.class)
     public final ResponseEntity<ErrorResponse> handleGeneralExceptions(Throwable throwable) {
 
@@ -80,6 +87,18 @@ public class EmployeeExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    private ResponseEntity<Object> getValidationErrorResponse(BindingResult bindingResult) {
+        Map<String, List<String>> body = new HashMap<>();
+
+        List<String> errors = bindingResult.getFieldErrors().stream()
+                .map(DefaultMessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.toList());
+
+        body.put("errors", errors);
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     private ErrorResponse getErrorResponse(LocalDateTime timestamp, int status, String error) {
         ErrorResponse errorResponse = new ErrorResponse();
         errorResponse.setTimestamp(timestamp);
@@ -0,0 +1,368 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import com.reliaquest.api.store.Utf8Arena;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Case-folded trigram inverted index over employee names, built once per snapshot.
+ *
+ * <p>Searches keep the "contains or matches" semantics of the original linear scan: an employee matches when its
+ * lower-cased name contains the lower-cased search string, or fully matches it as a regular expression. Queries of
+ * three or more UTF-8 bytes intersect the posting lists of their byte trigrams and only verify the surviving
+ * candidates. Shorter queries scan the pre-folded names, and queries containing regex metacharacters scan once with a
+ * single compiled pattern.
+ *
+ * <p>The folded names are kept as UTF-8 in a {@link Utf8Arena} and matched byte by byte, so neither building nor
+ * searching the index creates a string per employee; only regex queries decode the names they test.
+ *
+ * <p>Instances are immutable. {@link #withAdded(EmployeeTable)}, {@link #withAddedAll(EmployeeTable)} and
+ * {@link #withRemoved(EmployeeTable, int)} derive the index of a patched snapshot at a cost that does not grow with
+ * the number of employees, on average:
+ *
+ * <ul>
+ *   <li>Names are indexed by slot, their order of arrival, rather than by table position. A removed employee's slot
+ *       is only recorded as a tombstone, so no posting list has to shift, and searches skip tombstoned slots and turn
+ *       the others into positions. Once tombstones make up an eighth of the slots, the index is rebuilt without them.
+ *   <li>The posting lists are split by trigram hash into {@value #BUCKETS} maps, and added names copy just the maps
+ *       and lists of their own trigrams, once per patch. The folded names and their offsets are appended in place, in
+ *       buffers shared with the index they were derived from.
+ * </ul>
+ */
+public class EmployeeNameIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int BUCKETS = 256;
+
+    /** Tombstones may make up at most one in this many slots. */
+    private static final int TOMBSTONE_SHARE = 8;
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private final EmployeeTable employees;
+
+    private final Utf8Arena foldedNames;
+
+    /** Offset of each slot's folded name in {@link #foldedNames}; entries past {@link #slotCount} are not ours. */
+    private final Offsets foldedOffsets;
+
+    private final int slotCount;
+
+    /** Slots of removed employees, ascending. */
+    private final int[] tombstones;
+
+    /** Ascending slots by trigram, in the bucket of {@link #bucket(int)}. */
+    private final Map<Integer, int[]>[] postings;
+
+    public EmployeeNameIndex(EmployeeTable employees) {
+        this.employees = employees;
+        this.slotCount = employees.size();
+        this.tombstones = NO_SLOTS;
+
+        int[] offsets = new int[slotCount];
+        Utf8Arena.Builder arena = new Utf8Arena.Builder(slotCount * 24);
+        Map<Integer, PostingList> building = new HashMap<>();
+
+        for (int i = 0; i < slotCount; i++) {
+            byte[] folded = fold(employees.name(i));
+            offsets[i] = arena.add(folded);
+
+            for (int start = 0; start + GRAM <= folded.length; start++) {
+                building.computeIfAbsent(trigram(folded, start), ignored -> new PostingList()).add(i);
+            }
+        }
+
+        this.foldedNames = arena.build();
+        this.foldedOffsets = new Offsets(offsets, slotCount);
+        this.postings = emptyBuckets();
+        building.forEach((gram, postingList) -> {
+            int bucket = bucket(gram);
+            if (postings[bucket].isEmpty()) {
+                postings[bucket] = new HashMap<>();
+            }
+            postings[bucket].put(gram, postingList.toArray());
+        });
+    }
+
+    private EmployeeNameIndex(
+            EmployeeTable employees,
+            Utf8Arena foldedNames,
+            Offsets foldedOffsets,
+            int slotCount,
+            int[] tombstones,
+            Map<Integer, int[]>[] postings) {
+        this.employees = employees;
+        this.foldedNames = foldedNames;
+        this.foldedOffsets = foldedOffsets;
+        this.slotCount = slotCount;
+        this.tombstones = tombstones;
+        this.postings = postings;
+    }
+
+    /**
+     * @param updated the indexed employees with one more appended at the end
+     */
+    public EmployeeNameIndex withAdded(EmployeeTable updated) {
+        return withAddedAll(updated);
+    }
+
+    /**
+     * Indexes a batch in one patch, so each posting list it touches is copied once rather than once per name.
+     *
+     * @param updated the indexed employees with any number more appended at the end
+     */
+    public EmployeeNameIndex withAddedAll(EmployeeTable updated) {
+
+        Utf8Arena names = foldedNames;
+        Offsets offsets = foldedOffsets;
+        Map<Integer, PostingList> building = new HashMap<>();
+
+        int slot = slotCount;
+        for (int position = slotCount - tombstones.length; position < updated.size(); position++, slot++) {
+            byte[] folded = fold(updated.name(position));
+            offsets = offsets.append(slot, names.length());
+            names = names.append(folded);
+
+            for (int start = 0; start + GRAM <= folded.length; start++) {
+                building.computeIfAbsent(trigram(folded, start), ignored -> new PostingList()).add(slot);
+            }
+        }
+
+        // The new slots come after every existing one, so appending keeps each list ascending.
+        Map<Integer, int[]>[] patched = postings.clone();
+        building.forEach((gram, postingList) -> {
+            int bucket = bucket(gram);
+            if (patched[bucket] == postings[bucket]) {
+                patched[bucket] = new HashMap<>(postings[bucket]);
+            }
+            patched[bucket].merge(gram, postingList.toArray(), EmployeeNameIndex::concat);
+        });
+
+        return new EmployeeNameIndex(updated, names, offsets, slot, tombstones, patched);
+    }
+
+    /**
+     * @param updated the indexed employees without the one at {@code position}
+     */
+    public EmployeeNameIndex withRemoved(EmployeeTable updated, int position) {
+
+        if ((tombstones.length + 1) * TOMBSTONE_SHARE > slotCount) {
+            return new EmployeeNameIndex(updated);
+        }
+
+        // The k-th tombstone has tombstones[k] - k live slots before it, so skip those with no more than position.
+        int skipped = 0;
+        for (int low = 0, high = tombstones.length - 1; low <= high; ) {
+            int middle = (low + high) >>> 1;
+            if (tombstones[middle] - middle <= position) {
+                skipped = middle + 1;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        int[] removed = new int[tombstones.length + 1];
+        System.arraycopy(tombstones, 0, removed, 0, skipped);
+        removed[skipped] = position + skipped;
+        System.arraycopy(tombstones, skipped, removed, skipped + 1, tombstones.length - skipped);
+
+        return new EmployeeNameIndex(updated, foldedNames, foldedOffsets, slotCount, removed, postings);
+    }
+
+    /**
+     * @return employees whose name contains or matches {@code searchString}, in snapshot order
+     */
+    public List<Employee> search(String searchString) {
+
+        String query = searchString.toLowerCase();
+        byte[] utf8 = query.getBytes(StandardCharsets.UTF_8);
+
+        if (isRegex(query)) {
+            return scan(utf8, compileOrNull(query));
+        }
+
+        if (utf8.length < GRAM) {
+            return scan(utf8, null);
+        }
+
+        int[] candidates = candidates(utf8);
+        int[] matches = new int[candidates.length];
+        int size = 0;
+        int removed = 0;
+        for (int slot : candidates) {
+            while (removed < tombstones.length && tombstones[removed] < slot) {
+                removed++;
+            }
+            if ((removed == tombstones.length || tombstones[removed] != slot)
+                    && foldedNames.contains(foldedOffsets.values[slot], utf8)) {
+                matches[size++] = slot - removed;
+            }
+        }
+        return employees.asList(Arrays.copyOf(matches, size));
+    }
+
+    private int[] candidates(byte[] query) {
+
+        int gramCount = query.length - GRAM + 1;
+        int[][] lists = new int[gramCount][];
+
+        for (int start = 0; start < gramCount; start++) {
+            int gram = trigram(query, start);
+            int[] list = postings[bucket(gram)].get(gram);
+            if (list == null) {
+                return NO_SLOTS;
+            }
+            lists[start] = list;
+        }
+
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        int[] candidates = lists[0];
+        for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists[i]);
+        }
+        return candidates;
+    }
+
+    private List<Employee> scan(byte[] query, Pattern pattern) {
+
+        PostingList matches = new PostingList();
+        int removed = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (removed < tombstones.length && tombstones[removed] == slot) {
+                removed++;
+                continue;
+            }
+            int offset = foldedOffsets.values[slot];
+            if (foldedNames.contains(offset, query)
+                    || (pattern != null && pattern.matcher(foldedNames.string(offset)).matches())) {
+                matches.add(slot - removed);
+            }
+        }
+        return employees.asList(matches.toArray());
+    }
+
+    private static int[] intersect(int[] smaller, int[] larger) {
+
+        int[] intersection = new int[smaller.length];
+        int size = 0;
+
+        for (int i = 0, j = 0; i < smaller.length && j < larger.length; ) {
+            if (smaller[i] < larger[j]) {
+                i++;
+            } else if (smaller[i] > larger[j]) {
+                j++;
+            } else {
+                intersection[size++] = smaller[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(intersection, size);
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+
+    private static byte[] fold(String name) {
+        return name == null ? new byte[0] : name.toLowerCase().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int trigram(byte[] text, int start) {
+        return (text[start] & 0xFF) << 16 | (text[start + 1] & 0xFF) << 8 | (text[start + 2] & 0xFF);
+    }
+
+    private static int bucket(int gram) {
+        return (gram * 0x9E3779B9) >>> 24;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, int[]>[] emptyBuckets() {
+        Map<Integer, int[]>[] buckets = new Map[BUCKETS];
+        Arrays.fill(buckets, Map.of());
+        return buckets;
+    }
+
+    private static boolean isRegex(String query) {
+        for (int i = 0; i < query.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(query.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        // Without metacharacters a full match is plain equality, which "contains" already covers.
+        return false;
+    }
+
+    private static Pattern compileOrNull(String query) {
+        try {
+            return Pattern.compile(query);
+        } catch (PatternSyntaxException exception) {
+            // Not a valid expression, so it cannot match anything; only "contains" applies.
+            return null;
+        }
+    }
+
+    /** Growable list of ascending employee positions, deduplicated as they are appended in order. */
+    private static final class PostingList {
+
+        private int[] positions = new int[4];
+
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+
+    /**
+     * Name offsets by slot, shared by the indexes derived from one another. Like the buffer of a {@link Utf8Arena},
+     * an index appends in place when no other one has appended past its last slot yet, and copies otherwise.
+     */
+    private static final class Offsets {
+
+        private final int[] values;
+
+        private final AtomicInteger end;
+
+        Offsets(int[] values, int end) {
+            this.values = values;
+            this.end = new AtomicInteger(end);
+        }
+
+        Offsets append(int slot, int offset) {
+
+            Offsets target = this;
+            if (slot == values.length || !end.compareAndSet(slot, slot + 1)) {
+                target = new Offsets(Arrays.copyOf(values, Math.max(16, slot * 2)), slot + 1);
+            }
+            target.values[slot] = offset;
+            return target;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Highest salary and top earners of a snapshot, computed once when the snapshot is built so that the
+ * {@code highestSalary} and {@code topTenHighestEarningEmployeeNames} endpoints are constant-time reads.
+ *
+ * <p>Keeps the positions and salaries of the {@link #TOP_K} best paid employees plus as many again as headroom,
+ * ordered by salary descending and, for equal salaries, by position in the employee table (the order the original
+ * stable sort produced). The headroom lets {@link #withAdded(EmployeeTable)} and
+ * {@link #withRemoved(EmployeeTable, int)} update the aggregates in O(k) for creates and deletes, and
+ * {@link #withAddedAll(EmployeeTable, int)} in O(k) per employee of a batch; only a removal that exhausts the headroom
+ * rebuilds from the full table. Instances are immutable.
+ */
+public class SalaryAggregates {
+
+    public static final int TOP_K = 10;
+
+    private static final int CAPACITY = TOP_K * 2;
+
+    private final int[] topPositions;
+
+    private final int[] topSalaries;
+
+    /** Whether {@link #topPositions} holds every employee, i.e. nobody was ever dropped for lack of capacity. */
+    private final boolean complete;
+
+    private final List<String> topEarnerNames;
+
+    private SalaryAggregates(EmployeeTable employees, int[] topPositions, int[] topSalaries, boolean complete) {
+        this.topPositions = topPositions;
+        this.topSalaries = topSalaries;
+        this.complete = complete;
+
+        List<String> names = new ArrayList<>(Math.min(TOP_K, topPositions.length));
+        for (int i = 0; i < Math.min(TOP_K, topPositions.length); i++) {
+            names.add(employees.name(topPositions[i]));
+        }
+        this.topEarnerNames = Collections.unmodifiableList(names);
+    }
+
+    public static SalaryAggregates of(EmployeeTable employees) {
+
+        int[] positions = new int[CAPACITY];
+        int[] salaries = new int[CAPACITY];
+        int size = 0;
+        int salaried = 0;
+
+        for (int position = 0; position < employees.size(); position++) {
+            if (employees.salary(position) != EmployeeTable.NO_VALUE) {
+                size = insert(positions, salaries, size, position, employees.salary(position));
+                salaried++;
+            }
+        }
+
+        return new SalaryAggregates(
+                employees, Arrays.copyOf(positions, size), Arrays.copyOf(salaries, size), salaried == size);
+    }
+
+    /**
+     * @throws NoSuchElementException if there are no employees with a salary
+     */
+    public int getHighestSalary() {
+        if (topSalaries.length == 0) {
+            throw new NoSuchElementException();
+        }
+        return topSalaries[0];
+    }
+
+    public List<String> getTopEarnerNames() {
+        return topEarnerNames;
+    }
+
+    /**
+     * @param updated the employees with one more appended at the end
+     * @return aggregates including the appended employee
+     */
+    public SalaryAggregates withAdded(EmployeeTable updated) {
+        return withAddedAll(updated, 1);
+    }
+
+    /**
+     * @param updated the employees with {@code count} more appended at the end
+     * @return aggregates including the appended employees
+     */
+    public SalaryAggregates withAddedAll(EmployeeTable updated, int count) {
+
+        int[] positions = Arrays.copyOf(topPositions, CAPACITY);
+        int[] salaries = Arrays.copyOf(topSalaries, CAPACITY);
+        int size = topPositions.length;
+        boolean stillComplete = complete;
+        boolean changed = false;
+
+        for (int position = updated.size() - count; position < updated.size(); position++) {
+
+            int salary = updated.salary(position);
+            if (salary == EmployeeTable.NO_VALUE) {
+                continue;
+            }
+
+            // Untracked employees may earn as much as the last tracked one and come earlier, so a new employee only
+            // joins the tracked ones if it earns more.
+            if (!stillComplete && salary <= salaries[size - 1]) {
+                continue;
+            }
+
+            // At capacity either the new employee or the previous last one is dropped.
+            stillComplete &= size < CAPACITY;
+            size = insert(positions, salaries, size, position, salary);
+            changed = true;
+        }
+
+        if (!changed) {
+            return this;
+        }
+
+        return new SalaryAggregates(
+                updated, Arrays.copyOf(positions, size), Arrays.copyOf(salaries, size), stillComplete);
+    }
+
+    /**
+     * @param updated the employees without the one at {@code position}, read in full only when the headroom runs out
+     * @return aggregates without the employee at {@code position}
+     */
+    public SalaryAggregates withRemoved(EmployeeTable updated, int position) {
+
+        int index = -1;
+        for (int i = 0; i < topPositions.length && index < 0; i++) {
+            if (topPositions[i] == position) {
+                index = i;
+            }
+        }
+
+        // Untracked employees earn no more than the last tracked one, so the top list stays exact while at least
+        // TOP_K tracked employees remain. Below that, an untracked employee may belong in it.
+        if (index >= 0 && !complete && topPositions.length - 1 < TOP_K) {
+            return of(updated);
+        }
+
+        int size = index < 0 ? topPositions.length : topPositions.length - 1;
+        int[] positions = new int[size];
+        int[] salaries = new int[size];
+
+        // The employees after the removed one move up a position.
+        for (int i = 0, j = 0; i < topPositions.length; i++) {
+            if (i != index) {
+                positions[j] = topPositions[i] > position ? topPositions[i] - 1 : topPositions[i];
+                salaries[j++] = topSalaries[i];
+            }
+        }
+
+        return new SalaryAggregates(updated, positions, salaries, complete);
+    }
+
+    /*
+     * Inserts into the bounded, salary-descending arrays, after any employee with an equal or higher salary. Returns
+     * the new size; employees that do not make the cut are dropped. Callers skip employees without a salary.
+     */
+    private static int insert(int[] positions, int[] salaries, int size, int position, int salary) {
+
+        if (size == positions.length && salaries[size - 1] >= salary) {
+            return size;
+        }
+
+        int index = size;
+        while (index > 0 && salaries[index - 1] < salary) {
+            index--;
+        }
+
+        int newSize = Math.min(size + 1, positions.length);
+        System.arraycopy(positions, index, positions, index + 1, newSize - index - 1);
+        System.arraycopy(salaries, index, salaries, index + 1, newSize - index - 1);
+        positions[index] = position;
+        salaries[index] = salary;
+
+        return newSize;
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.SalaryRankDirection;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Selects the k best or worst paid employees matching a filter with a bounded binary heap over table positions: one
+ * pass over the salary column, O(n log k) comparisons and O(k) memory, instead of sorting the whole list.
+ *
+ * <p>Ranking is by salary, then by position in the employee table, so equal salaries come out in table order as a
+ * stable sort would produce. Employees without a salary are skipped.
+ */
+public final class SalaryRanking {
+
+    private SalaryRanking() {}
+
+    /**
+     * @param filter tests the position of each salaried employee
+     * @return at most {@code k} matching employees, best ranked first
+     */
+    public static List<Employee> select(
+            EmployeeTable employees, int k, SalaryRankDirection direction, IntPredicate filter) {
+
+        boolean top = direction == SalaryRankDirection.TOP;
+
+        // The root holds the worst-ranked selected employee, the one to evict when a better one shows up.
+        int[] heap = new int[Math.min(k, employees.size())];
+        int size = 0;
+
+        for (int position = 0; position < employees.size(); position++) {
+
+            if (employees.salary(position) == EmployeeTable.NO_VALUE || !filter.test(position)) {
+                continue;
+            }
+
+            if (size < heap.length) {
+                heap[size] = position;
+                siftUp(employees, heap, size++, top);
+            } else if (size > 0 && ranksBefore(employees, position, heap[0], top)) {
+                heap[0] = position;
+                siftDown(employees, heap, size, top);
+            }
+        }
+
+        // Popping the root repeatedly yields worst to best; fill the result from the back.
+        int[] ranked = new int[size];
+        for (int remaining = size; remaining > 0; remaining--) {
+            ranked[remaining - 1] = heap[0];
+            heap[0] = heap[remaining - 1];
+            siftDown(employees, heap, remaining - 1, top);
+        }
+
+        return employees.asList(ranked);
+    }
+
+    private static boolean ranksBefore(EmployeeTable employees, int a, int b, boolean top) {
+        int salaryA = employees.salary(a);
+        int salaryB = employees.salary(b);
+        if (salaryA != salaryB) {
+            return top ? salaryA > salaryB : salaryA < salaryB;
+        }
+        return a < b;
+    }
+
+    private static void siftUp(EmployeeTable employees, int[] heap, int index, boolean top) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!ranksBefore(employees, heap[parent], heap[index], top)) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(EmployeeTable employees, int[] heap, int size, boolean top) {
+        int index = 0;
+        while (true) {
+            int worst = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && ranksBefore(employees, heap[worst], heap[left], top)) {
+                worst = left;
+            }
+            if (right < size && ranksBefore(employees, heap[worst], heap[right], top)) {
+                worst = right;
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(heap, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+}
@@ -0,0 +1,173 @@
+package com.reliaquest.api.metrics;
+
+import com.reliaquest.api.exception.EmployeeAPIClientException;
+import com.reliaquest.api.exception.EmployeeAPIServerException;
+import com.reliaquest.api.exception.EmployeeAPIUnavailableException;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeRateLimitException;
+import com.reliaquest.api.exception.LocalRateLimitException;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.service.EmployeeSnapshotStore;
+import com.reliaquest.api.store.EmployeeTable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Micrometer meters for the calls to the Mock Employee API and for the employee snapshot that stands in front of
+ * them. Upstream latency is recorded per operation with an outcome tag, from subscription to the final signal, so it
+ * includes retries and time spent waiting for the rate limiter. The snapshot meters play the part of cache
+ * statistics: gets served from a snapshot or not, loads, swaps, write patches and 304 revalidations.
+ */
+@Component
+public class EmployeeMetrics {
+
+    public static final String LIST = "list";
+
+    public static final String GET_BY_ID = "get-by-id";
+
+    public static final String CREATE = "create";
+
+    public static final String DELETE = "delete";
+
+    private static final String OPERATION = "operation";
+
+    private static final String RESULT = "result";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter snapshotHits;
+
+    private final Counter snapshotMisses;
+
+    private final Counter snapshotLoadSuccesses;
+
+    private final Counter snapshotLoadFailures;
+
+    public EmployeeMetrics(MeterRegistry meterRegistry, EmployeeSnapshotStore snapshotStore) {
+        this.meterRegistry = meterRegistry;
+
+        this.snapshotHits = snapshotGets("hit");
+        this.snapshotMisses = snapshotGets("miss");
+        this.snapshotLoadSuccesses = snapshotLoads("success");
+        this.snapshotLoadFailures = snapshotLoads("failure");
+
+        FunctionCounter.builder("employee.snapshot.swaps", snapshotStore, EmployeeSnapshotStore::getSwapCount)
+                .description("Snapshots replaced by a full load")
+                .register(meterRegistry);
+
+        FunctionCounter.builder("employee.snapshot.patches", snapshotStore, EmployeeSnapshotStore::getPatchCount)
+                .description("Creates and deletes patched into the snapshot")
+                .register(meterRegistry);
+
+        FunctionCounter.builder(
+                        "employee.snapshot.revalidations", snapshotStore, EmployeeSnapshotStore::getRevalidationCount)
+                .description("Reloads answered 304 Not Modified, keeping the snapshot")
+                .register(meterRegistry);
+
+        Gauge.builder("employee.snapshot.size", snapshotStore, store -> {
+                    EmployeeSnapshot snapshot = store.get();
+                    return snapshot == null ? 0 : snapshot.size();
+                })
+                .description("Employees in the current snapshot")
+                .register(meterRegistry);
+
+        Gauge.builder("employee.snapshot.age", snapshotStore, store -> {
+                    EmployeeSnapshot snapshot = store.get();
+                    return snapshot == null ? 0 : snapshot.getAge().toMillis() / 1000.0;
+                })
+                .description("Seconds since the current snapshot was loaded")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("employee.snapshot.off.heap", EmployeeTable::offHeapBytes)
+                .description("Direct memory held for off-heap snapshots, in use or pooled")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times {@code call} as the given upstream operation, tagging the outcome.
+     */
+    public <T> Mono<T> timeUpstream(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+
+            return call.doOnSuccess(ignored -> sample.stop(upstreamTimer(operation, "success")))
+                    .doOnError(error -> sample.stop(upstreamTimer(operation, outcomeOf(error))))
+                    .doOnCancel(() -> sample.stop(upstreamTimer(operation, "cancelled")));
+        });
+    }
+
+    public void upstreamRateLimited(String operation) {
+        Counter.builder("employee.upstream.rate.limited")
+                .description("429 responses from the Mock Employee API")
+                .tag(OPERATION, operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void upstreamRetried(String operation) {
+        Counter.builder("employee.upstream.retries")
+                .description("Retries of calls to the Mock Employee API after a 429")
+                .tag(OPERATION, operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void snapshotHit() {
+        snapshotHits.increment();
+    }
+
+    public void snapshotMiss() {
+        snapshotMisses.increment();
+    }
+
+    public void snapshotLoaded(boolean success) {
+        (success ? snapshotLoadSuccesses : snapshotLoadFailures).increment();
+    }
+
+    private Timer upstreamTimer(String operation, String outcome) {
+        return Timer.builder("employee.upstream.requests")
+                .description("Calls to the Mock Employee API, including retries")
+                .tag(OPERATION, operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter snapshotGets(String result) {
+        return Counter.builder("employee.snapshot.gets")
+                .description("Reads answered from the snapshot (hit) or needing the Mock Employee API (miss)")
+                .tag(RESULT, result)
+                .register(meterRegistry);
+    }
+
+    private Counter snapshotLoads(String result) {
+        return Counter.builder("employee.snapshot.loads")
+                .description("Loads of the employee list from the Mock Employee API, including ones answered 304")
+                .tag(RESULT, result)
+                .register(meterRegistry);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error instanceof LocalRateLimitException) {
+            return "throttled";
+        } else if (error instanceof EmployeeRateLimitException) {
+            return "rate_limited";
+        } else if (error instanceof EmployeeNotFoundException) {
+            return "not_found";
+        } else if (error instanceof EmployeeAPIClientException) {
+            return "client_error";
+        } else if (error instanceof EmployeeAPIServerException) {
+            return "server_error";
+        } else if (error instanceof EmployeeAPIUnavailableException) {
+            return "unavailable";
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result for one item of a bulk create. Results are reported as they complete, so {@code index}, the position of the
+ * item in the request, ties each one back to its input.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeCreation {
+
+    @JsonProperty("index")
+    private long index;
+
+    @JsonProperty("outcome")
+    private Outcome outcome;
+
+    /** The employee as created by the Mock Employee API, {@code null} unless created. */
+    @JsonProperty("employee")
+    private Employee employee;
+
+    /** Why the item was not created, {@code null} if it was. */
+    @JsonProperty("error")
+    private String error;
+
+    public static EmployeeCreation created(long index, Employee employee) {
+        return new EmployeeCreation(index, Outcome.CREATED, employee, null);
+    }
+
+    public static EmployeeCreation invalid(long index, String error) {
+        return new EmployeeCreation(index, Outcome.INVALID, null, error);
+    }
+
+    public static EmployeeCreation failed(long index, String error) {
+        return new EmployeeCreation(index, Outcome.FAILED, null, error);
+    }
+
+    public enum Outcome {
+        CREATED("created"),
+        INVALID("invalid"),
+        FAILED("failed");
+
+        @JsonValue
+        @Getter
+        private final String value;
+
+        Outcome(String value) {
+            this.value = value;
+        }
+    }
+}
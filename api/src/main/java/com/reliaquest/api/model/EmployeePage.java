@@ -0,0 +1,20 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+
+    @JsonProperty("data")
+    private List<Employee> data;
+
+    /** Cursor for the following page, {@code null} on the last page. */
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.exception.EmployeeAPIClientException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position reached by a paging client, handed out as an opaque URL-safe string. It records the snapshot version the
+ * previous page was cut from, together with the epoch of the process that cut it, the position of the next employee
+ * in that snapshot, and the id of the last employee returned, so that paging can resume after that employee once the
+ * snapshot has been replaced or the api restarted.
+ */
+@Getter
+@AllArgsConstructor
+public class EmployeePageCursor {
+
+    private static final String SEPARATOR = ":";
+
+    /** Epoch of the store the version belongs to; versions of different processes are unrelated. */
+    private final String epoch;
+
+    private final long version;
+
+    private final int position;
+
+    /** Id of the last employee returned, {@code null} if it had none. */
+    private final UUID lastId;
+
+    public String encode() {
+        String raw = epoch + SEPARATOR + version + SEPARATOR + position + SEPARATOR + (lastId == null ? "" : lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws EmployeeAPIClientException if {@code cursor} was not produced by {@link #encode()}
+     */
+    public static EmployeePageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, -1);
+
+            int position = Integer.parseInt(parts[2]);
+            if (parts.length != 4 || position < 0) {
+                throw new IllegalArgumentException(raw);
+            }
+
+            return new EmployeePageCursor(
+                    parts[0],
+                    Long.parseLong(parts[1]),
+                    position,
+                    parts[3].isEmpty() ? null : UUID.fromString(parts[3]));
+
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new EmployeeAPIClientException("Invalid cursor: " + cursor, exception);
+        }
+    }
+}
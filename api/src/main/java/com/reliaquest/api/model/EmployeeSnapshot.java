@@ -0,0 +1,185 @@
+package com.reliaquest.api.model;
+
+import com.reliaquest.api.index.EmployeeNameIndex;
+import com.reliaquest.api.index.SalaryAggregates;
+import com.reliaquest.api.store.EmployeeTable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable view of the full employee list as last loaded from the Mock Employee API. A new snapshot is built for
+ * every reload and swapped in as a whole, so readers always see a consistent list together with the indexes derived
+ * from it.
+ *
+ * <p>The employees are held column by column in an {@link EmployeeTable}, and the name index and salary aggregates
+ * work on its positions. {@link #getEmployees()} and the search results are views that build each {@link Employee}
+ * as it is read, so employee objects only exist while a response is being serialized.
+ *
+ * <p>Creates and deletes confirmed by the upstream are applied with {@link #withAdded(long, Employee)} and
+ * {@link #withRemoved(long, Employee)}, which derive a new snapshot from this one, and batches of creates with
+ * {@link #withAddedAll(long, List)}. The table, the name index and the salary aggregates are all patched at a cost
+ * that does not grow with the number of employees, amortized over the rebuilds they do now and then. A patched
+ * snapshot keeps the {@link #getLoadedAt() load time} of its origin, since its data is no fresher than that last full
+ * load.
+ *
+ * <p>When the Mock Employee API confirms that the list is unchanged, {@link #withLoadedAt(Instant)} renews the load
+ * time and keeps the version, so the data counts as fresh again without looking any different to readers.
+ */
+@Getter
+public class EmployeeSnapshot {
+
+    private final long version;
+
+    private final Instant loadedAt;
+
+    private final EmployeeTable table;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeNameIndex nameIndex;
+
+    private final SalaryAggregates salaryAggregates;
+
+    public EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees) {
+        this(version, loadedAt, EmployeeTable.of(employees));
+    }
+
+    public EmployeeSnapshot(long version, Instant loadedAt, EmployeeTable table) {
+        this(version, loadedAt, table, new EmployeeNameIndex(table), SalaryAggregates.of(table));
+    }
+
+    private EmployeeSnapshot(
+            long version,
+            Instant loadedAt,
+            EmployeeTable table,
+            EmployeeNameIndex nameIndex,
+            SalaryAggregates salaryAggregates) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.table = table;
+        this.nameIndex = nameIndex;
+        this.salaryAggregates = salaryAggregates;
+    }
+
+    /**
+     * @return every employee in snapshot order, each built as it is read
+     */
+    public List<Employee> getEmployees() {
+        return table.asList();
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * @return a snapshot with {@code employee} appended, where the Mock Employee API adds new employees, or this
+     *     snapshot if it already holds an employee with the same id
+     */
+    public EmployeeSnapshot withAdded(long newVersion, Employee employee) {
+
+        if (table.indexOf(employee.getUuid()) >= 0) {
+            return this;
+        }
+
+        EmployeeTable updated = table.withAdded(employee);
+
+        return new EmployeeSnapshot(
+                newVersion, loadedAt, updated, nameIndex.withAdded(updated), salaryAggregates.withAdded(updated));
+    }
+
+    /**
+     * Adds a batch of employees under a single version. The table takes the whole batch in one append, and the name
+     * index and salary aggregates are patched once for it, rather than once per employee.
+     *
+     * @return a snapshot with those of {@code employees} it does not hold yet appended in order, or this snapshot if
+     *     it holds them all
+     */
+    public EmployeeSnapshot withAddedAll(long newVersion, List<Employee> employees) {
+
+        List<Employee> added = new ArrayList<>(employees.size());
+        Set<UUID> addedIds = new HashSet<>();
+        for (Employee employee : employees) {
+            if (table.indexOf(employee.getUuid()) < 0 && addedIds.add(employee.getUuid())) {
+                added.add(employee);
+            }
+        }
+
+        if (added.isEmpty()) {
+            return this;
+        }
+
+        EmployeeTable updated = table.withAddedAll(added);
+
+        return new EmployeeSnapshot(
+                newVersion,
+                loadedAt,
+                updated,
+                nameIndex.withAddedAll(updated),
+                salaryAggregates.withAddedAll(updated, added.size()));
+    }
+
+    /**
+     * @return a snapshot without the employee with the id of {@code employee}, or this snapshot if it holds none
+     */
+    public EmployeeSnapshot withRemoved(long newVersion, Employee employee) {
+
+        int position = indexOf(employee.getUuid());
+        if (position < 0) {
+            return this;
+        }
+
+        EmployeeTable updated = table.withRemoved(position);
+
+        return new EmployeeSnapshot(
+                newVersion,
+                loadedAt,
+                updated,
+                nameIndex.withRemoved(updated, position),
+                salaryAggregates.withRemoved(updated, position));
+    }
+
+    /**
+     * @return this snapshot with its data and version, as if loaded at {@code revalidatedAt}
+     */
+    public EmployeeSnapshot withLoadedAt(Instant revalidatedAt) {
+        return new EmployeeSnapshot(version, revalidatedAt, table, nameIndex, salaryAggregates);
+    }
+
+    /**
+     * @return employees whose name contains or matches {@code searchString}, ignoring case
+     */
+    public List<Employee> searchByName(String searchString) {
+        return nameIndex.search(searchString);
+    }
+
+    /**
+     * @return the employee with the given id, or {@code null} if it is not part of this snapshot
+     */
+    public Employee findById(UUID id) {
+        int position = table.indexOf(id);
+        return position < 0 ? null : table.employee(position);
+    }
+
+    /**
+     * @return the position of the employee with the given id in {@link #getEmployees()}, or {@code -1} if it is not
+     *     part of this snapshot
+     */
+    public int indexOf(UUID id) {
+        return table.indexOf(id);
+    }
+
+    public Duration getAge() {
+        return Duration.between(loadedAt, Instant.now());
+    }
+
+    public boolean isOlderThan(Duration duration) {
+        return getAge().compareTo(duration) >= 0;
+    }
+}
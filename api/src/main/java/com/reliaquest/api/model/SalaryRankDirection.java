@@ -0,0 +1,6 @@
+package com.reliaquest.api.model;
+
+public enum SalaryRankDirection {
+    TOP,
+    BOTTOM
+}
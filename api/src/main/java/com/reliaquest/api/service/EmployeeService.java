@@ -1,26 +1,46 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.codec.EmployeeFields;
+import com.reliaquest.api.codec.EmployeeJsonDecoder;
 import com.reliaquest.api.config.CachingConfig;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
 import com.reliaquest.api.exception.EmployeeAPIClientException;
 import com.reliaquest.api.exception.EmployeeAPIServerException;
+import com.reliaquest.api.exception.EmployeeAPIUnavailableException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeRateLimitException;
+import com.reliaquest.api.exception.LocalRateLimitException;
+import com.reliaquest.api.index.SalaryRanking;
+import com.reliaquest.api.metrics.EmployeeMetrics;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeCreation;
 import com.reliaquest.api.model.EmployeeDeletion;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageCursor;
 import com.reliaquest.api.model.EmployeeRegister;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.model.SalaryRankDirection;
 import com.reliaquest.api.model.Status;
+import com.reliaquest.api.store.EmployeeTable;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
-import java.util.Comparator;
 import java.util.List;
-import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -30,7 +50,9 @@ import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
 
@@ -39,59 +61,314 @@ public class EmployeeService {
 
     private final WebClient webClient;
 
+    private final EmployeeSnapshotStore snapshotStore;
+
+    private final EmployeeCacheProperties cacheProperties;
+
+    private final EmployeeMetrics metrics;
+
+    private final EmployeeBulkProperties bulkProperties;
+
+    private final Validator validator;
+
+    private final AtomicReference<Mono<EmployeeSnapshot>> inFlightLoad = new AtomicReference<>();
+
     @Autowired
-    public EmployeeService(WebClient webClient) {
+    public EmployeeService(
+            WebClient webClient,
+            EmployeeSnapshotStore snapshotStore,
+            EmployeeCacheProperties cacheProperties,
+            EmployeeMetrics metrics,
+            EmployeeBulkProperties bulkProperties,
+            Validator validator) {
         this.webClient = webClient;
+        this.snapshotStore = snapshotStore;
+        this.cacheProperties = cacheProperties;
+        this.metrics = metrics;
+        this.bulkProperties = bulkProperties;
+        this.validator = validator;
     }
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeService.class);
 
-    @Cacheable(value = CachingConfig.EMP_CACHE)
+    /** Streams the list straight into employees, without a tree or boxed numbers, up to emp.cache.max-list-size. */
+    private static final EmployeeJsonDecoder LIST_DECODER = new EmployeeJsonDecoder();
+
     public List<Employee> getEmployeeInfo() {
 
         LOGGER.info("Inside getEmployeeInfo method : EmployeeService");
 
-        return getEmployeeResponse()
-                .cache(
-                        response -> response == null ? Duration.ZERO : Duration.ofMillis(Long.MAX_VALUE),
-                        throwable -> Duration.ZERO,
-                        () -> Duration.ZERO)
-                .block();
+        return getEmployees().block();
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #getEmployeeInfo()} used by the reactive serving mode.
+     */
+    public Mono<List<Employee>> getEmployees() {
+
+        LOGGER.info("Inside getEmployees method : EmployeeService");
+
+        return getSnapshot().map(EmployeeSnapshot::getEmployees);
+    }
+
+    /**
+     * Emits the employees of the current snapshot one at a time, as the subscriber requests them.
+     */
+    public Flux<Employee> streamEmployees() {
+
+        LOGGER.info("Inside streamEmployees method : EmployeeService");
+
+        return getSnapshot().flatMapIterable(EmployeeSnapshot::getEmployees);
     }
 
-    private Mono<List<Employee>> getEmployeeResponse() {
+    /**
+     * Returns up to {@code limit} employees following {@code cursor}, or from the start when {@code cursor} is
+     * {@code null}. The page is sliced straight out of the snapshot, so its cost depends on the page size only.
+     *
+     * <p>A cursor cut from the current snapshot version, in this process, resumes at its recorded position. Once the
+     * snapshot has been replaced, or the api restarted, paging resumes right after the last employee the client
+     * received, looked up by id, so employees are neither repeated nor skipped because others were added or removed
+     * before it. Only if that employee is gone does paging fall back to the recorded position.
+     *
+     * @throws EmployeeAPIClientException (signalled) if {@code cursor} is malformed
+     */
+    public Mono<EmployeePage> getEmployeePage(int limit, String cursor) {
+
+        LOGGER.info("Inside getEmployeePage method : EmployeeService");
+
+        return Mono.defer(() -> {
+            EmployeePageCursor pageCursor = cursor == null ? null : EmployeePageCursor.decode(cursor);
+
+            return getSnapshot().map(snapshot -> slicePage(snapshot, snapshotStore.getEpoch(), limit, pageCursor));
+        });
+    }
+
+    private static EmployeePage slicePage(
+            EmployeeSnapshot snapshot, String epoch, int limit, EmployeePageCursor cursor) {
+
+        List<Employee> employees = snapshot.getEmployees();
+
+        int start = 0;
+        if (cursor != null) {
+            int afterLast = snapshot.indexOf(cursor.getLastId()) + 1;
+            boolean sameSnapshot = epoch.equals(cursor.getEpoch()) && cursor.getVersion() == snapshot.getVersion();
+            start = sameSnapshot || afterLast == 0
+                    ? Math.min(cursor.getPosition(), employees.size())
+                    : afterLast;
+        }
+
+        int end = (int) Math.min((long) start + limit, employees.size());
+
+        String nextCursor = end < employees.size()
+                ? new EmployeePageCursor(epoch, snapshot.getVersion(), end, employees.get(end - 1).getUuid()).encode()
+                : null;
+
+        return new EmployeePage(List.copyOf(employees.subList(start, end)), nextCursor);
+    }
+
+    /**
+     * Serves the current snapshot without touching the Mock Employee API. Only the very first request, before any
+     * snapshot has been loaded, waits for the upstream; after that {@link #refreshSnapshot()} keeps it up to date in
+     * the background.
+     */
+    public Mono<EmployeeSnapshot> getSnapshot() {
+
+        return Mono.defer(() -> {
+            EmployeeSnapshot snapshot = snapshotStore.get();
+
+            if (snapshot == null) {
+                metrics.snapshotMiss();
+                return loadSnapshot();
+            }
+
+            metrics.snapshotHit();
+
+            if (snapshot.isOlderThan(Duration.ofMillis(CachingConfig.EMP_CACHE_TTL))) {
+                LOGGER.warn("Serving employee snapshot version {} aged {}", snapshot.getVersion(), snapshot.getAge());
+            }
+
+            return Mono.just(snapshot);
+        });
+    }
+
+    /**
+     * Entity tag of the snapshot the read endpoints answer from, for conditional GETs. Read it before answering: the
+     * snapshot can only move forward in between, so the tag sent with a response is never newer than its data.
+     *
+     * @return the tag, or {@code null} before the first snapshot has been loaded
+     */
+    public String getSnapshotETag() {
+        return snapshotStore.currentETag();
+    }
+
+    /**
+     * Loads a new snapshot from the Mock Employee API. Concurrent callers, whether cold-start readers or the
+     * background refresher, share a single in-flight upstream call and all receive its result or error. The shared
+     * load is not tied to any one subscriber, so a caller that gives up does not cancel it for the others.
+     */
+    private Mono<EmployeeSnapshot> loadSnapshot() {
+
+        return Mono.defer(() -> {
+            while (true) {
+                Mono<EmployeeSnapshot> inFlight = inFlightLoad.get();
+
+                if (inFlight != null) {
+                    return inFlight;
+                }
+
+                Sinks.One<EmployeeSnapshot> sink = Sinks.one();
+                Mono<EmployeeSnapshot> load = sink.asMono();
+
+                if (inFlightLoad.compareAndSet(null, load)) {
+
+                    long baseVersion = snapshotStore.currentVersion();
+
+                    getEmployeeResponse(snapshotStore.getUpstreamETag())
+                            .flatMap(fetched -> fetched.notModified()
+                                    ? revalidateOrReload(baseVersion)
+                                    : Mono.fromSupplier(() ->
+                                            snapshotStore.replace(fetched.employees(), baseVersion, fetched.eTag())))
+                            .switchIfEmpty(Mono.error(
+                                    new EmployeeAPIServerException("No employee list from Mock Employee API")))
+                            .doOnSuccess(loaded -> metrics.snapshotLoaded(true))
+                            .doOnError(exception -> metrics.snapshotLoaded(false))
+                            .doFinally(signal -> inFlightLoad.compareAndSet(load, null))
+                            .subscribe(sink::tryEmitValue, sink::tryEmitError, sink::tryEmitEmpty);
+
+                    return load;
+                }
+            }
+        });
+    }
+
+    /*
+     * A 304 leaves nothing to build a snapshot from once the store has been cleared during the conditional request, so
+     * the list is then fetched in full.
+     */
+    private Mono<EmployeeSnapshot> revalidateOrReload(long baseVersion) {
+
+        EmployeeSnapshot revalidated = snapshotStore.revalidate(baseVersion);
+        if (revalidated != null) {
+            return Mono.just(revalidated);
+        }
+
+        return getEmployeeResponse(null)
+                .map(fetched -> snapshotStore.replace(fetched.employees(), baseVersion, fetched.eTag()));
+    }
+
+    /**
+     * Fetches the employee list, conditionally when {@code eTag} is given. A {@code 304 Not Modified} answer has no
+     * body, so nothing is decoded and the result carries no employees.
+     */
+    private Mono<EmployeeListFetch> getEmployeeResponse(String eTag) {
 
         LOGGER.info("Inside getEmployeeResponse method : EmployeeService");
 
         return webClient
                 .get()
                 .uri("/employee")
+                .headers(headers -> {
+                    if (eTag != null) {
+                        headers.setIfNoneMatch(eTag);
+                    }
+                })
                 .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, this::handleClientError)
+                .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        response -> handleClientError(EmployeeMetrics.LIST, response))
                 .onStatus(HttpStatusCode::is5xxServerError, this::handleServerError)
-                .bodyToMono(new ParameterizedTypeReference<EmployeeResponse<List<Employee>>>() {})
-                .retryWhen(performRetryBackOffSpec())
+                .toEntityFlux(DataBuffer.class)
+                .retryWhen(performRetryBackOffSpec(EmployeeMetrics.LIST))
                 .onErrorResume(WebClientException.class, e -> {
                     LOGGER.info("WebClientException occurred: {}", e.getMessage());
                     return Mono.error(e);
                 })
-                .map(this::processResponse);
+                .flatMap(entity -> entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)
+                        ? entity.getBody()
+                                .doOnNext(DataBufferUtils::release)
+                                .then(Mono.just(new EmployeeListFetch(true, null, eTag)))
+                        : DataBufferUtils.join(entity.getBody(), maxListBytes())
+                                .onErrorMap(
+                                        DataBufferLimitException.class,
+                                        e -> new EmployeeAPIServerException(
+                                                "Employee list from Mock Employee API exceeds emp.cache.max-list-size",
+                                                e))
+                                .map(body -> new EmployeeListFetch(
+                                        false, decodeEmployees(body), entity.getHeaders().getETag())))
+                .transform(call -> metrics.timeUpstream(EmployeeMetrics.LIST, call));
+    }
+
+    private int maxListBytes() {
+        return (int) Math.min(Integer.MAX_VALUE, cacheProperties.getMaxListSize().toBytes());
+    }
+
+    private List<Employee> decodeEmployees(DataBuffer body) {
+        try (InputStream in = body.asInputStream(true)) {
+            return processResponse(LIST_DECODER.decode(in, EmployeeFields::toEmployee));
+        } catch (IOException e) {
+            throw new EmployeeAPIServerException("Malformed employee list from Mock Employee API", e);
+        }
     }
 
     public List<Employee> getEmployeesByNameSearch(String searchString) {
 
         LOGGER.info("Inside getEmployeesByNameSearch method : EmployeeService");
 
-        return getEmployeeInfo().stream()
-                .filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase())
-                        || employee.getEmployeeName().toLowerCase().matches(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        return findEmployeesByName(searchString).block();
     }
 
+    /**
+     * Non-blocking counterpart of {@link #getEmployeesByNameSearch(String)}, answered from the snapshot's trigram name
+     * index.
+     */
+    public Mono<List<Employee>> findEmployeesByName(String searchString) {
+
+        return getSnapshot().map(snapshot -> snapshot.searchByName(searchString));
+    }
+
+    /**
+     * Answers from the snapshot's id index when possible. The Mock Employee API is only asked when the id is not in
+     * the snapshot and the snapshot may be missing it: no snapshot yet, marked stale by a failed reload, or older
+     * than {@code emp.cache.id-lookup-freshness}. If the upstream is then unavailable (circuit open or bulkhead full),
+     * the snapshot's answer stands.
+     */
     public Mono<Employee> getEmployeeInfoById(String id) {
 
         LOGGER.info("Inside getEmployeeInfoById method : EmployeeService");
 
+        EmployeeSnapshot snapshot = snapshotStore.get();
+        UUID uuid = parseUuid(id);
+
+        if (snapshot != null && uuid != null) {
+
+            Employee employee = snapshot.findById(uuid);
+
+            if (employee != null) {
+                metrics.snapshotHit();
+                return Mono.just(employee);
+            }
+
+            if (!snapshotStore.isStale() && !snapshot.isOlderThan(cacheProperties.getIdLookupFreshness())) {
+                metrics.snapshotHit();
+                return Mono.error(new EmployeeNotFoundException("Employee with id: " + id + " not found"));
+            }
+
+            metrics.snapshotMiss();
+
+            // While the upstream is unavailable the snapshot is the best answer there is.
+            return getEmployeeResponseById(id)
+                    .onErrorMap(
+                            EmployeeAPIUnavailableException.class,
+                            exception -> new EmployeeNotFoundException("Employee with id: " + id + " not found"));
+        }
+
+        metrics.snapshotMiss();
+
+        return getEmployeeResponseById(id);
+    }
+
+    private Mono<Employee> getEmployeeResponseById(String id) {
+
         return webClient
                 .get()
                 .uri("/employee/{id}", id)
@@ -102,56 +379,167 @@ public class EmployeeService {
                             response.statusCode().value());
                     return Mono.error(new EmployeeNotFoundException("Employee with id: " + id + " not found"));
                 })
-                .onStatus(HttpStatusCode::is4xxClientError, this::handleClientError)
+                .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        response -> handleClientError(EmployeeMetrics.GET_BY_ID, response))
                 .onStatus(HttpStatusCode::is5xxServerError, this::handleServerError)
                 .bodyToMono(new ParameterizedTypeReference<EmployeeResponse<Employee>>() {})
-                .retryWhen(performRetryBackOffSpec())
+                .retryWhen(performRetryBackOffSpec(EmployeeMetrics.GET_BY_ID))
                 .onErrorResume(WebClientException.class, e -> {
                     LOGGER.info("WebClientException occurred: {}", e.getMessage());
                     return Mono.error(e);
                 })
-                .map(this::processResponse);
+                .map(this::processResponse)
+                .transform(call -> metrics.timeUpstream(EmployeeMetrics.GET_BY_ID, call));
     }
 
     public Integer getHighestSalaryOfEmployees() {
 
         LOGGER.info("Inside getHighestSalaryOfEmployees method : EmployeeService");
 
-        return getEmployeeInfo().stream()
-                .mapToInt(Employee::getEmployeeSalary)
-                .max()
-                .orElseThrow(NoSuchElementException::new);
+        return findHighestSalary().block();
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #getHighestSalaryOfEmployees()}, read from the snapshot's precomputed
+     * salary aggregates.
+     */
+    public Mono<Integer> findHighestSalary() {
+
+        return getSnapshot().map(snapshot -> snapshot.getSalaryAggregates().getHighestSalary());
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
 
         LOGGER.info("Inside getTopTenHighestEarningEmployeeNames method : EmployeeService");
 
-        return getEmployeeInfo().stream()
-                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
-                .limit(10)
-                .map(Employee::getEmployeeName)
-                .collect(Collectors.toList());
+        return findTopTenHighestEarningEmployeeNames().block();
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #getTopTenHighestEarningEmployeeNames()}, read from the snapshot's
+     * precomputed salary aggregates.
+     */
+    public Mono<List<String>> findTopTenHighestEarningEmployeeNames() {
+
+        return getSnapshot().map(snapshot -> snapshot.getSalaryAggregates().getTopEarnerNames());
+    }
+
+    /**
+     * Streams the {@code k} best or worst paid employees of the snapshot, optionally restricted to a title
+     * (case-insensitive) and an age range, best ranked first.
+     */
+    public Flux<Employee> rankEmployeesBySalary(
+            int k, SalaryRankDirection direction, String title, Integer minAge, Integer maxAge) {
+
+        LOGGER.info("Inside rankEmployeesBySalary method : EmployeeService");
+
+        return getSnapshot().flatMapMany(snapshot -> {
+            EmployeeTable table = snapshot.getTable();
+            IntPredicate hasTitle = title == null ? position -> true : table.titleMatcher(title);
+
+            // Titles are compared by offset, not decoded, and only for employees whose age is in range.
+            IntPredicate filter = position -> (minAge == null || isAtLeast(table.age(position), minAge))
+                    && (maxAge == null || isAtMost(table.age(position), maxAge))
+                    && hasTitle.test(position);
+
+            return Flux.fromIterable(SalaryRanking.select(table, k, direction, filter));
+        });
+    }
+
+    private static boolean isAtLeast(int age, int minAge) {
+        return age != EmployeeTable.NO_VALUE && age >= minAge;
+    }
+
+    private static boolean isAtMost(int age, int maxAge) {
+        return age != EmployeeTable.NO_VALUE && age <= maxAge;
     }
 
     public Mono<Employee> createEmployee(EmployeeRegister employeeInput) {
 
         LOGGER.info("Inside createEmployee method : EmployeeService");
 
+        return postEmployee(employeeInput, performRetryBackOffSpec(EmployeeMetrics.CREATE));
+    }
+
+    /*
+     * The upstream create, shared by single and bulk creates, retried with retry, which is the only retry around it.
+     * Bulk items call it directly rather than through createEmployee, which CacheUtil advises with the per-create
+     * snapshot patch.
+     */
+    private Mono<Employee> postEmployee(EmployeeRegister employeeInput, Retry retry) {
+
         return webClient
                 .post()
                 .uri("/employee")
                 .body(BodyInserters.fromValue(employeeInput))
                 .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, this::handleClientError)
+                .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        response -> handleClientError(EmployeeMetrics.CREATE, response))
                 .onStatus(HttpStatusCode::is5xxServerError, this::handleServerError)
                 .bodyToMono(new ParameterizedTypeReference<EmployeeResponse<Employee>>() {})
-                .retryWhen(performRetryBackOffSpec())
+                .retryWhen(retry)
                 .onErrorResume(WebClientException.class, e -> {
                     LOGGER.info("WebClientException occurred: {}", e.getMessage());
                     return Mono.error(e);
                 })
-                .map(this::processResponse);
+                .map(this::processResponse)
+                .transform(call -> metrics.timeUpstream(EmployeeMetrics.CREATE, call));
+    }
+
+    /**
+     * Creates every employee of {@code employeeInputs}, at most {@code emp.bulk.max-concurrency} at a time, and reports
+     * each item as it completes, which need not be in input order. Invalid items are reported without being sent. An
+     * item turned away for the rate budget, locally or by a 429, is resubmitted after
+     * {@code emp.bulk.rate-limit-backoff}, so a large import paces itself to the upstream budget instead of failing;
+     * any other failure is reported for that item alone. This replaces the shorter 429 backoff of single creates
+     * rather than wrapping it, so an item is posted at most {@code emp.bulk.rate-limit-retries} + 1 times.
+     *
+     * <p>Items are posted without going through {@link #createEmployee(EmployeeRegister)}, so the per-create snapshot
+     * patch does not apply to them; {@code CacheUtil} patches the created employees into the snapshot in batches
+     * instead.
+     */
+    public Flux<EmployeeCreation> createEmployees(Flux<EmployeeRegister> employeeInputs) {
+
+        LOGGER.info("Inside createEmployees method : EmployeeService");
+
+        return employeeInputs
+                .index()
+                .flatMap(
+                        indexed -> createBulkItem(indexed.getT1(), indexed.getT2()),
+                        Math.max(1, bulkProperties.getMaxConcurrency()));
+    }
+
+    private Mono<EmployeeCreation> createBulkItem(long index, EmployeeRegister employeeInput) {
+
+        String violations = validator.validate(employeeInput).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+
+        if (!violations.isEmpty()) {
+            return Mono.just(EmployeeCreation.invalid(index, violations));
+        }
+
+        Retry resubmission = Retry.fixedDelay(
+                        bulkProperties.getRateLimitRetries(), bulkProperties.getRateLimitBackoff())
+                .filter(throwable -> throwable instanceof EmployeeRateLimitException)
+                .doAfterRetry(retry -> {
+                    LOGGER.info(
+                            "Bulk item {} turned away for the rate budget, resubmission {}",
+                            index,
+                            retry.totalRetries() + 1);
+                    if (!(retry.failure() instanceof LocalRateLimitException)) {
+                        metrics.upstreamRetried(EmployeeMetrics.CREATE);
+                    }
+                })
+                .onRetryExhaustedThrow((retrySpec, retry) -> retry.failure());
+
+        return postEmployee(employeeInput, resubmission)
+                .map(employee -> EmployeeCreation.created(index, employee))
+                .onErrorResume(exception -> Mono.just(EmployeeCreation.failed(
+                        index, Objects.toString(exception.getMessage(), exception.getClass().getSimpleName()))));
     }
 
     public Mono<Boolean> deleteEmployee(Employee employee) {
@@ -165,18 +553,21 @@ public class EmployeeService {
                 .uri("/employee")
                 .body(BodyInserters.fromValue(employeeDeletion))
                 .retrieve()
-                .onStatus(HttpStatusCode::is4xxClientError, this::handleClientError)
+                .onStatus(
+                        HttpStatusCode::is4xxClientError,
+                        response -> handleClientError(EmployeeMetrics.DELETE, response))
                 .onStatus(HttpStatusCode::is5xxServerError, this::handleServerError)
                 .bodyToMono(new ParameterizedTypeReference<EmployeeResponse<Boolean>>() {})
-                .retryWhen(performRetryBackOffSpec())
+                .retryWhen(performRetryBackOffSpec(EmployeeMetrics.DELETE))
                 .onErrorResume(WebClientException.class, e -> {
                     LOGGER.info("WebClientException occurred: {}", e.getMessage());
                     return Mono.error(e);
                 })
-                .map(this::processResponse);
+                .map(this::processResponse)
+                .transform(call -> metrics.timeUpstream(EmployeeMetrics.DELETE, call));
     }
 
-    private Mono<? extends Throwable> handleClientError(ClientResponse response) {
+    private Mono<? extends Throwable> handleClientError(String operation, ClientResponse response) {
 
         HttpStatusCode statusCode = response.statusCode();
 
@@ -184,6 +575,8 @@ public class EmployeeService {
 
         if (statusCode == HttpStatus.TOO_MANY_REQUESTS) {
 
+            metrics.upstreamRateLimited(operation);
+
             return Mono.error(new EmployeeRateLimitException(
                     "Your request limit has been reached. Please try again in some time."));
 
@@ -204,18 +597,29 @@ public class EmployeeService {
                 "Server error occurred: " + response.statusCode().value()));
     }
 
-    private static RetryBackoffSpec performRetryBackOffSpec() {
+    private RetryBackoffSpec performRetryBackOffSpec(String operation) {
         // https://www.couchbase.com/blog/spring-webclient-429-ratelimit-errors/
         return Retry.backoff(3, Duration.ofSeconds(5))
                 .jitter(0.5)
-                .filter(throwable -> throwable instanceof EmployeeRateLimitException)
+                .filter(throwable -> throwable instanceof EmployeeRateLimitException
+                        && !(throwable instanceof LocalRateLimitException))
                 .doAfterRetry(retry -> {
                     LOGGER.info("External call to Mock Employee API failed, retry {}", retry.totalRetries() + 1);
+                    metrics.upstreamRetried(operation);
                 })
                 .onRetryExhaustedThrow((retryspec, retry) ->
                         new EmployeeRateLimitException("Received 429 : Too Many Request", retry.failure()));
     }
 
+    private static UUID parseUuid(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException exception) {
+            // Left for the Mock Employee API to reject, as before.
+            return null;
+        }
+    }
+
     private <T> T processResponse(EmployeeResponse<T> response) {
 
         LOGGER.info(
@@ -239,11 +643,39 @@ public class EmployeeService {
         return null;
     }
 
-    @CacheEvict(
-            allEntries = true,
-            cacheNames = {CachingConfig.EMP_CACHE})
-    @Scheduled(fixedDelay = CachingConfig.EMP_CACHE_TTL)
-    public void cacheEvict() {
-        LOGGER.info("Clearing caches");
+    /**
+     * Reloads the snapshot ahead of its expiry, or right after a failed reload marked it stale, and swaps it in once
+     * complete. Readers keep being served the previous snapshot meanwhile; a failed reload keeps it and is retried on
+     * the next cycle.
+     */
+    @Scheduled(fixedDelay = CachingConfig.EMP_CACHE_REFRESH_CHECK_INTERVAL)
+    public void refreshSnapshot() {
+
+        if (!snapshotStore.startRefreshIfDue(Duration.ofMillis(CachingConfig.EMP_CACHE_REFRESH_AHEAD))) {
+            return;
+        }
+
+        LOGGER.info("Refreshing employee snapshot");
+
+        try {
+            EmployeeSnapshot snapshot = loadSnapshot().block();
+
+            LOGGER.info(
+                    "Employee snapshot refreshed to version {} with {} employees",
+                    snapshot.getVersion(),
+                    snapshot.size());
+
+        } catch (Exception exception) {
+
+            LOGGER.warn("Employee snapshot refresh failed, keeping previous snapshot: {}", exception.getMessage());
+            snapshotStore.markStale();
+        }
     }
+
+    /**
+     * @param notModified whether the Mock Employee API answered {@code 304 Not Modified}, leaving {@code employees}
+     *     {@code null}
+     * @param eTag the upstream entity tag of the list, if any
+     */
+    private record EmployeeListFetch(boolean notModified, List<Employee> employees, String eTag) {}
 }
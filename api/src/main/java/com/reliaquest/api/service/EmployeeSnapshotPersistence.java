@@ -0,0 +1,116 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.CachingConfig;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.store.SnapshotFile;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Saves the employee snapshot to {@code emp.cache.snapshot-file} and restores it on startup, so that a restarted api
+ * answers from the saved employees instead of sending every first request to the Mock Employee API at once. The
+ * restored snapshot keeps its original load time: the background refresher reloads it as soon as it is due,
+ * conditionally on the saved upstream entity tag, and readers are served the saved employees meanwhile.
+ *
+ * <p>The file is written after each full load, not after patched creates and deletes, which the next reload brings
+ * in anyway. Nothing is saved or restored while no file is configured.
+ */
+@Component
+public class EmployeeSnapshotPersistence {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeSnapshotPersistence.class);
+
+    private final EmployeeSnapshotStore snapshotStore;
+
+    private final Path snapshotFile;
+
+    /** Swap count of the store when the file last matched it; only touched by the scheduler thread after startup. */
+    private long savedSwapCount;
+
+    public EmployeeSnapshotPersistence(EmployeeSnapshotStore snapshotStore, EmployeeCacheProperties cacheProperties) {
+        this.snapshotStore = snapshotStore;
+        this.snapshotFile = cacheProperties.getSnapshotFile();
+    }
+
+    /**
+     * Maps the saved snapshot, if any, before the api starts taking requests. A missing or unreadable file leaves the
+     * store empty, as without a file.
+     */
+    @PostConstruct
+    public void restore() {
+
+        if (snapshotFile == null) {
+            return;
+        }
+
+        LOGGER.info("Inside restore method : EmployeeSnapshotPersistence");
+
+        try {
+            SnapshotFile.Contents contents = SnapshotFile.read(snapshotFile);
+
+            if (contents == null) {
+                LOGGER.info("No saved employee snapshot at {}", snapshotFile);
+                return;
+            }
+
+            EmployeeSnapshot restored =
+                    snapshotStore.restore(contents.table(), contents.loadedAt(), contents.upstreamETag());
+            savedSwapCount = snapshotStore.getSwapCount();
+
+            LOGGER.info(
+                    "Restored {} employees from {}, loaded {} ago",
+                    restored.size(),
+                    snapshotFile,
+                    restored.getAge());
+
+        } catch (IOException exception) {
+            LOGGER.warn("Ignoring saved employee snapshot: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * Saves the snapshot once a full load has replaced it. A failed save is retried after the next full load.
+     */
+    @Scheduled(fixedDelay = CachingConfig.EMP_CACHE_REFRESH_CHECK_INTERVAL)
+    public void saveIfReloaded() {
+
+        if (snapshotFile == null) {
+            return;
+        }
+
+        long swapCount = snapshotStore.getSwapCount();
+        if (swapCount == savedSwapCount) {
+            return;
+        }
+
+        EmployeeSnapshotStore.StoredSnapshot stored = snapshotStore.getStored();
+        savedSwapCount = swapCount;
+
+        if (stored == null) {
+            return;
+        }
+
+        try {
+            SnapshotFile.write(
+                    snapshotFile,
+                    stored.snapshot().getTable(),
+                    stored.snapshot().getLoadedAt(),
+                    stored.upstreamETag());
+
+            LOGGER.info(
+                    "Saved employee snapshot version {} with {} employees to {}",
+                    stored.snapshot().getVersion(),
+                    stored.snapshot().size(),
+                    snapshotFile);
+
+        } catch (IOException | RuntimeException exception) {
+            LOGGER.warn("Saving employee snapshot to {} failed: {}", snapshotFile, exception.getMessage());
+        }
+    }
+}
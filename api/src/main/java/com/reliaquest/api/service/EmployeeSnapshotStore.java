@@ -0,0 +1,285 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.store.EmployeeTable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link EmployeeSnapshot}. Reloads replace the snapshot atomically, so readers keep getting the
+ * previous one until the new one is complete (stale-while-revalidate).
+ *
+ * <p>Creates and deletes are patched into the current snapshot as they are confirmed by the upstream, instead of
+ * forcing a reload. Patches are also journaled until the next reload lands: a reload that started before a patch may
+ * have fetched the list without it, so it is re-applied on top of the reloaded list. Updates are serialized; reads
+ * never lock.
+ *
+ * <p>Alongside the snapshot the store keeps the upstream entity tag of the list it was loaded from, so that reloads
+ * can ask the Mock Employee API whether anything changed and {@link #revalidate(long)} the snapshot if not.
+ *
+ * <p>With {@code emp.cache.off-heap} set, snapshots keep their employees in an {@link EmployeeTable#offHeap(List)
+ * off-heap table}. A replaced snapshot's memory is reused once the last request reading it is done.
+ */
+@Component
+public class EmployeeSnapshotStore {
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    /** Tells versions of this process apart from those of an earlier run, which started from 1 as well. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private final List<JournaledPatch> journal = new ArrayList<>();
+
+    /** Entity tag of the upstream list the current snapshot was loaded from, if the upstream sent one. */
+    private volatile String upstreamETag;
+
+    private volatile boolean stale;
+
+    private volatile long swapCount;
+
+    private volatile long patchCount;
+
+    private volatile long revalidationCount;
+
+    private final boolean offHeap;
+
+    public EmployeeSnapshotStore() {
+        this(false);
+    }
+
+    @Autowired
+    public EmployeeSnapshotStore(EmployeeCacheProperties cacheProperties) {
+        this(cacheProperties.isOffHeap());
+    }
+
+    /**
+     * @param offHeap whether to keep the employees of loaded snapshots off the heap
+     */
+    public EmployeeSnapshotStore(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * @return the current snapshot, or {@code null} if nothing has been loaded yet
+     */
+    public EmployeeSnapshot get() {
+        return snapshot.get();
+    }
+
+    /**
+     * @return the version of the latest snapshot or patch, to be passed to {@link #replace(List, long)} by a reload
+     *     starting now
+     */
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return what tells the versions of this process apart from those of an earlier run
+     */
+    public String getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * @return a strong entity tag for the current snapshot, derived from its version, or {@code null} if nothing has
+     *     been loaded yet
+     */
+    public String currentETag() {
+        EmployeeSnapshot current = snapshot.get();
+        return current == null ? null : "\"" + epoch + "-" + current.getVersion() + "\"";
+    }
+
+    /**
+     * @return the upstream entity tag to send as {@code If-None-Match} on the next reload, or {@code null} if there is
+     *     no snapshot to keep
+     */
+    public String getUpstreamETag() {
+        return upstreamETag;
+    }
+
+    public EmployeeSnapshot replace(List<Employee> employees) {
+        return replace(employees, currentVersion(), null);
+    }
+
+    /**
+     * @param baseVersion {@link #currentVersion()} when the reload that fetched {@code employees} started; patches
+     *     made after it are re-applied to the new snapshot
+     */
+    public EmployeeSnapshot replace(List<Employee> employees, long baseVersion) {
+        return replace(employees, baseVersion, null);
+    }
+
+    /**
+     * @param baseVersion see {@link #replace(List, long)}
+     * @param upstreamETag entity tag the Mock Employee API sent with {@code employees}, or {@code null}
+     */
+    public synchronized EmployeeSnapshot replace(List<Employee> employees, long baseVersion, String upstreamETag) {
+        EmployeeTable table = offHeap ? EmployeeTable.offHeap(employees) : EmployeeTable.of(employees);
+        EmployeeSnapshot loaded = new EmployeeSnapshot(version.incrementAndGet(), Instant.now(), table);
+        for (JournaledPatch journaled : journal) {
+            if (journaled.version() > baseVersion) {
+                loaded = journaled.patch().applyTo(loaded, version.incrementAndGet());
+            }
+        }
+        journal.clear();
+        snapshot.set(loaded);
+        this.upstreamETag = upstreamETag;
+        swapCount++;
+        return loaded;
+    }
+
+    /**
+     * Installs a snapshot saved by an earlier run, unless one has been loaded meanwhile. It keeps its original load
+     * time, so it is refreshed as soon as it is due, conditionally on {@code upstreamETag}.
+     *
+     * @return the current snapshot, the restored one unless another was loaded first
+     */
+    public synchronized EmployeeSnapshot restore(EmployeeTable table, Instant loadedAt, String upstreamETag) {
+        if (snapshot.get() == null) {
+            snapshot.set(new EmployeeSnapshot(version.incrementAndGet(), loadedAt, table));
+            this.upstreamETag = upstreamETag;
+        }
+        return snapshot.get();
+    }
+
+    /**
+     * @return the current snapshot together with the upstream entity tag of the list it was loaded from, or
+     *     {@code null} if nothing has been loaded yet
+     */
+    public synchronized StoredSnapshot getStored() {
+        EmployeeSnapshot current = snapshot.get();
+        return current == null ? null : new StoredSnapshot(current, upstreamETag);
+    }
+
+    /**
+     * Keeps the current snapshot after the Mock Employee API answered a reload with {@code 304 Not Modified}, renewing
+     * its load time. Patches made while the reload was in flight are already in the snapshot; the older ones can no
+     * longer be needed by any reload and leave the journal.
+     *
+     * @param baseVersion {@link #currentVersion()} when the reload started
+     * @return the revalidated snapshot, or {@code null} if the store was cleared meanwhile
+     */
+    public synchronized EmployeeSnapshot revalidate(long baseVersion) {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null) {
+            return null;
+        }
+        journal.removeIf(journaled -> journaled.version() <= baseVersion);
+        EmployeeSnapshot revalidated = current.withLoadedAt(Instant.now());
+        snapshot.set(revalidated);
+        revalidationCount++;
+        return revalidated;
+    }
+
+    /**
+     * Adds an employee the Mock Employee API has just created to the current snapshot, if any.
+     */
+    public EmployeeSnapshot applyCreated(Employee employee) {
+        return patch((current, newVersion) -> current.withAdded(newVersion, employee));
+    }
+
+    /**
+     * Adds employees the Mock Employee API has just created to the current snapshot, if any, as a single patch.
+     */
+    public EmployeeSnapshot applyCreated(List<Employee> employees) {
+        List<Employee> batch = List.copyOf(employees);
+        return patch((current, newVersion) -> current.withAddedAll(newVersion, batch));
+    }
+
+    /**
+     * Removes an employee the Mock Employee API has just deleted from the current snapshot, if any.
+     */
+    public EmployeeSnapshot applyDeleted(Employee employee) {
+        return patch((current, newVersion) -> current.withRemoved(newVersion, employee));
+    }
+
+    private synchronized EmployeeSnapshot patch(SnapshotPatch patch) {
+        long patchVersion = version.incrementAndGet();
+        journal.add(new JournaledPatch(patchVersion, patch));
+        patchCount++;
+
+        EmployeeSnapshot current = snapshot.get();
+        if (current != null) {
+            snapshot.set(patch.applyTo(current, patchVersion));
+        }
+        return snapshot.get();
+    }
+
+    /**
+     * Flags the current snapshot as out of date, so the next refresh cycle reloads it regardless of its age.
+     */
+    public void markStale() {
+        stale = true;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Called when a refresh starts. A failure while the refresh is in flight marks the snapshot stale again, so it is
+     * retried by the following cycle.
+     *
+     * @return whether a loaded snapshot exists and is due for a refresh
+     */
+    public boolean startRefreshIfDue(Duration refreshAfter) {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null || !(stale || current.isOlderThan(refreshAfter))) {
+            return false;
+        }
+        stale = false;
+        return true;
+    }
+
+    /**
+     * @return snapshots swapped in by a full load so far
+     */
+    public long getSwapCount() {
+        return swapCount;
+    }
+
+    /**
+     * @return creates and deletes patched in so far, counting a batch of creates once
+     */
+    public long getPatchCount() {
+        return patchCount;
+    }
+
+    /**
+     * @return reloads answered with {@code 304 Not Modified} so far
+     */
+    public long getRevalidationCount() {
+        return revalidationCount;
+    }
+
+    public synchronized void clear() {
+        snapshot.set(null);
+        upstreamETag = null;
+        journal.clear();
+        stale = false;
+    }
+
+    /**
+     * @param upstreamETag entity tag of the upstream list {@code snapshot} was loaded from, or {@code null}
+     */
+    public record StoredSnapshot(EmployeeSnapshot snapshot, String upstreamETag) {}
+
+    @FunctionalInterface
+    private interface SnapshotPatch {
+
+        EmployeeSnapshot applyTo(EmployeeSnapshot snapshot, long newVersion);
+    }
+
+    private record JournaledPatch(long version, SnapshotPatch patch) {}
+}
@@ -0,0 +1,310 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.codec.EmployeeFields;
+import com.reliaquest.api.codec.EmployeeJsonDecoder;
+import com.reliaquest.api.config.EmployeeWarmUpProperties;
+import com.reliaquest.api.index.SalaryRanking;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.model.SalaryRankDirection;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the api up before it reports itself ready. Spring Boot only moves the readiness state to
+ * {@code ACCEPTING_TRAFFIC} once every application runner has returned, so {@code /actuator/health/readiness} answers
+ * {@code OUT_OF_SERVICE} while this one:
+ *
+ * <ol>
+ *   <li>waits for the employee snapshot, restored from the snapshot file or loaded from the Mock Employee API, which
+ *       builds the name index and salary aggregates with it;
+ *   <li>sends synthetic requests to the hot read endpoints on the api's own port, with ids and name prefixes taken
+ *       from the snapshot, so that the JIT compiles the request handling, the lookups and the serialization before
+ *       real clients arrive.
+ * </ol>
+ *
+ * <p>If the snapshot does not arrive within {@code emp.warm-up.snapshot-timeout}, typically because the upstream is
+ * down, the indexes, the salary ranking, the list decoder and the serializer are exercised in process on generated
+ * employees instead, and the store is left alone: the load already started carries on and the background refresher
+ * retries it. The warm-up never fails startup, and stops at {@code emp.warm-up.timeout} however far it got.
+ */
+@Component
+public class EmployeeWarmUp implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeWarmUp.class);
+
+    private static final String EMPLOYEES_PATH = "/api/v2/employees";
+
+    /** The full list is by far the most expensive request; it is sent once per this many rounds. */
+    private static final int LIST_EVERY = 10;
+
+    private static final int SAMPLES = 64;
+
+    private static final int SEARCH_PREFIX_LENGTH = 3;
+
+    private static final int GENERATED_EMPLOYEES = 1_000;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final EmployeeService employeeService;
+
+    private final EmployeeWarmUpProperties properties;
+
+    private final Environment environment;
+
+    private final ObjectMapper objectMapper;
+
+    public EmployeeWarmUp(
+            EmployeeService employeeService,
+            EmployeeWarmUpProperties properties,
+            Environment environment,
+            ObjectMapper objectMapper) {
+        this.employeeService = employeeService;
+        this.properties = properties;
+        this.environment = environment;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * @return what the warm-up was run on
+     */
+    Outcome warmUp() {
+
+        if (!properties.isEnabled()) {
+            return Outcome.DISABLED;
+        }
+
+        LOGGER.info("Inside warmUp method : EmployeeWarmUp");
+
+        long started = System.nanoTime();
+        Instant deadline = Instant.now().plus(properties.getTimeout());
+
+        try {
+            EmployeeSnapshot snapshot = awaitSnapshot(deadline);
+            Outcome outcome = snapshot == null ? Outcome.GENERATED : Outcome.SNAPSHOT;
+
+            if (snapshot == null) {
+                exerciseInProcess(generatedSnapshot(), deadline);
+            } else {
+                Integer port = environment.getProperty("local.server.port", Integer.class);
+                if (port == null) {
+                    exerciseInProcess(snapshot, deadline);
+                } else {
+                    exerciseEndpoints(port, snapshot, deadline);
+                }
+            }
+
+            LOGGER.info(
+                    "Warm-up on {} employees finished in {} ms",
+                    outcome == Outcome.SNAPSHOT ? "the snapshot's" : "generated",
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+            return outcome;
+
+        } catch (RuntimeException exception) {
+            LOGGER.warn("Warm-up aborted, reporting ready anyway: {}", exception.getMessage());
+            return Outcome.ABORTED;
+        }
+    }
+
+    private EmployeeSnapshot awaitSnapshot(Instant deadline) {
+
+        Duration timeout = min(properties.getSnapshotTimeout(), Duration.between(Instant.now(), deadline));
+
+        try {
+            return employeeService.getSnapshot().block(timeout);
+        } catch (RuntimeException exception) {
+            LOGGER.warn("No employee snapshot to warm up on, using generated employees: {}", exception.getMessage());
+            return null;
+        }
+    }
+
+    private void exerciseEndpoints(int port, EmployeeSnapshot snapshot, Instant deadline) {
+
+        List<String> ids = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        sample(snapshot, ids, prefixes);
+
+        String base = "http://localhost:" + port + EMPLOYEES_PATH;
+        int sent = 0;
+        int failed = 0;
+
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build()) {
+
+            for (int round = 0; hasTimeFor(round, deadline); round++) {
+
+                for (String path : paths(round, ids, prefixes)) {
+
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+                            .timeout(REQUEST_TIMEOUT)
+                            .GET()
+                            .build();
+
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    sent++;
+                    if (status >= 400) {
+                        failed++;
+                    }
+                }
+            }
+
+        } catch (IOException exception) {
+            LOGGER.warn("Warm-up requests stopped: {}", exception.getMessage());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        LOGGER.info("Sent {} warm-up requests, {} of them answered with an error", sent, failed);
+    }
+
+    private static List<String> paths(int round, List<String> ids, List<String> prefixes) {
+
+        List<String> paths = new ArrayList<>();
+
+        if (round % LIST_EVERY == 0) {
+            paths.add("");
+        }
+        if (!prefixes.isEmpty()) {
+            String prefix = URLEncoder.encode(prefixes.get(round % prefixes.size()), StandardCharsets.UTF_8);
+            paths.add("/search/" + prefix.replace("+", "%20"));
+        }
+        if (!ids.isEmpty()) {
+            paths.add("/" + ids.get(round % ids.size()));
+        }
+        paths.add("/highestSalary");
+        paths.add("/topTenHighestEarningEmployeeNames");
+        paths.add("/page?limit=100");
+        paths.add("/salaryRanking?k=10&direction=" + (round % 2 == 0 ? "top" : "bottom"));
+
+        return paths;
+    }
+
+    /*
+     * Runs what the endpoints run, minus the web layer: lookups, ranking, serialization and the list decoder the next
+     * load will go through.
+     */
+    private void exerciseInProcess(EmployeeSnapshot snapshot, Instant deadline) {
+
+        List<String> ids = new ArrayList<>();
+        List<String> prefixes = new ArrayList<>();
+        sample(snapshot, ids, prefixes);
+
+        EmployeeJsonDecoder decoder = new EmployeeJsonDecoder();
+
+        try {
+            for (int round = 0; hasTimeFor(round, deadline); round++) {
+
+                List<Object> results = new ArrayList<>();
+                if (!prefixes.isEmpty()) {
+                    results.add(snapshot.searchByName(prefixes.get(round % prefixes.size())));
+                }
+                if (!ids.isEmpty()) {
+                    results.add(snapshot.findById(UUID.fromString(ids.get(round % ids.size()))));
+                }
+                results.add(snapshot.getSalaryAggregates().getHighestSalary());
+                results.add(snapshot.getSalaryAggregates().getTopEarnerNames());
+                results.add(SalaryRanking.select(
+                        snapshot.getTable(),
+                        10,
+                        round % 2 == 0 ? SalaryRankDirection.TOP : SalaryRankDirection.BOTTOM,
+                        position -> true));
+                objectMapper.writeValueAsBytes(results);
+
+                if (round % LIST_EVERY == 0) {
+                    byte[] list = objectMapper.writeValueAsBytes(Map.of("data", snapshot.getEmployees()));
+                    decoder.decode(new ByteArrayInputStream(list), EmployeeFields::toEmployee);
+                }
+            }
+        } catch (IOException exception) {
+            LOGGER.warn("In-process warm-up stopped: {}", exception.getMessage());
+        }
+    }
+
+    private static void sample(EmployeeSnapshot snapshot, List<String> ids, List<String> prefixes) {
+
+        int step = Math.max(1, snapshot.size() / SAMPLES);
+
+        for (int position = 0; position < snapshot.size(); position += step) {
+
+            Employee employee = snapshot.getTable().employee(position);
+            if (employee.getUuid() != null) {
+                ids.add(employee.getUuid().toString());
+            }
+            String name = employee.getEmployeeName();
+            if (name != null && name.length() >= SEARCH_PREFIX_LENGTH) {
+                prefixes.add(name.substring(0, SEARCH_PREFIX_LENGTH).toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    /*
+     * Names and titles repeat like real ones do, so the name index and the title dictionary get realistic shapes.
+     */
+    private static EmployeeSnapshot generatedSnapshot() {
+
+        String[] firstNames = {
+            "Ada", "Grace", "Alan", "Edsger", "Barbara", "Donald", "Frances", "Ken", "Radia", "Niklaus"
+        };
+        String[] lastNames = {"Lovelace", "Hopper", "Turing", "Dijkstra", "Liskov", "Knuth", "Allen", "Thompson"};
+        String[] titles = {"Engineer", "Manager", "Analyst", "Designer", "Director"};
+
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(GENERATED_EMPLOYEES);
+
+        for (int i = 0; i < GENERATED_EMPLOYEES; i++) {
+            String firstName = firstNames[i % firstNames.length];
+            String name = firstName + " " + lastNames[(i / firstNames.length) % lastNames.length];
+
+            Employee employee = new Employee();
+            employee.setUuid(new UUID(random.nextLong(), random.nextLong()));
+            employee.setEmployeeName(name);
+            employee.setEmployeeSalary(30_000 + random.nextInt(470_000));
+            employee.setEmployeeAge(18 + random.nextInt(50));
+            employee.setEmployeeTitle(titles[random.nextInt(titles.length)]);
+            employee.setEmployeeEmail(name.toLowerCase(Locale.ROOT).replace(' ', '.') + i + "@company.com");
+            employees.add(employee);
+        }
+
+        return new EmployeeSnapshot(0, Instant.now(), employees);
+    }
+
+    private boolean hasTimeFor(int round, Instant deadline) {
+        return round < properties.getRequestsPerEndpoint() && Instant.now().isBefore(deadline);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    enum Outcome {
+        DISABLED,
+        SNAPSHOT,
+        GENERATED,
+        ABORTED
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.api.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recycles the direct buffers of off-heap employee tables. A snapshot swap or patch takes a buffer from the pool and
+ * gives the previous table's back once that table is released, so steady reloads and patches reuse a few buffers
+ * instead of reserving new direct memory each time. Reserving direct memory past {@code -XX:MaxDirectMemorySize}
+ * makes the JDK call {@link System#gc()}, the pause the off-heap snapshot is there to avoid.
+ *
+ * <p>Buffers are handed out with an eighth of headroom, so the buffer of a table fits the table after the next few
+ * creates. At most {@link #MAX_POOLED} buffers are kept; others are dropped and freed by the JDK once unreachable.
+ */
+final class DirectBufferPool {
+
+    static final int MAX_POOLED = 4;
+
+    private final List<ByteBuffer> pooled = new ArrayList<>();
+
+    private final AtomicLong reservedBytes = new AtomicLong();
+
+    /**
+     * @return a buffer of at least {@code capacity} bytes, with undefined contents
+     */
+    synchronized ByteBuffer acquire(int capacity) {
+
+        // Best fit, but not a buffer more than twice as big, which would pin memory a smaller table does not need.
+        ByteBuffer best = null;
+        for (ByteBuffer candidate : pooled) {
+            if (candidate.capacity() >= capacity
+                    && candidate.capacity() / 2 <= capacity
+                    && (best == null || candidate.capacity() < best.capacity())) {
+                best = candidate;
+            }
+        }
+        if (best != null) {
+            pooled.remove(best);
+            return best;
+        }
+
+        int allocated = (int) Math.min((long) capacity + capacity / 8, Integer.MAX_VALUE - 8);
+        reservedBytes.addAndGet(allocated);
+        return ByteBuffer.allocateDirect(allocated);
+    }
+
+    /**
+     * Takes back a buffer from {@link #acquire(int)} that nothing reads any more.
+     */
+    synchronized void release(ByteBuffer buffer) {
+        if (pooled.size() < MAX_POOLED) {
+            pooled.add(buffer);
+        } else {
+            reservedBytes.addAndGet(-buffer.capacity());
+        }
+    }
+
+    /**
+     * @return direct memory held by tables and by the pool
+     */
+    long getReservedBytes() {
+        return reservedBytes.get();
+    }
+}
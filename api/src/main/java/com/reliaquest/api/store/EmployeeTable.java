@@ -0,0 +1,223 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * Employees stored column by column instead of as objects: an id, a salary and an age with {@link #NO_VALUE} for a
+ * missing value, and a name, a title and an email held as UTF-8, with equal titles stored once. Employees are only
+ * built as objects when asked for, by {@link #employee(int)} or the list views, typically while serializing.
+ *
+ * <p>{@link #of(List)} keeps the columns on the heap, {@link #offHeap(List)} in direct memory outside of it. Both
+ * answer lookups by id from an open-addressing hash table of positions.
+ *
+ * <p>Instances are immutable. {@link #withAdded(Employee)}, {@link #withAddedAll(List)} and {@link #withRemoved(int)}
+ * derive the table of a patched snapshot, kept where this one is: a {@link PatchedEmployeeTable} holds the changes
+ * beside the columns, in O(1) amortized per change, until enough of them justify building the table anew.
+ */
+public abstract sealed class EmployeeTable permits HeapEmployeeTable, OffHeapEmployeeTable, PatchedEmployeeTable {
+
+    /** Stands for a salary or age that is absent or {@code null}. */
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    public static final EmployeeTable EMPTY = of(List.of());
+
+    /** Titles are deduplicated only up to this many distinct ones, so the dictionary stays small. */
+    static final int MAX_DISTINCT_TITLES = 4096;
+
+    private final List<Employee> employees = new Positions(null);
+
+    EmployeeTable() {}
+
+    /**
+     * @return a table of {@code employees} in heap arrays
+     */
+    public static EmployeeTable of(List<Employee> employees) {
+        return HeapEmployeeTable.build(employees);
+    }
+
+    /**
+     * @return a table of {@code employees} in direct memory, released once no reader can reach the table any more
+     */
+    public static EmployeeTable offHeap(List<Employee> employees) {
+        return OffHeapEmployeeTable.build(employees);
+    }
+
+    /**
+     * @return direct memory held for off-heap tables, in use or pooled for the next one
+     */
+    public static long offHeapBytes() {
+        return OffHeapEmployeeTable.reservedBytes();
+    }
+
+    public abstract int size();
+
+    public abstract boolean hasId(int position);
+
+    /**
+     * @return the id, or {@code null} if the employee has none
+     */
+    public abstract UUID id(int position);
+
+    /**
+     * @return the salary, or {@link #NO_VALUE}
+     */
+    public abstract int salary(int position);
+
+    /**
+     * @return the age, or {@link #NO_VALUE}
+     */
+    public abstract int age(int position);
+
+    public abstract String name(int position);
+
+    public abstract String title(int position);
+
+    public abstract String email(int position);
+
+    /**
+     * @return the position of the last employee with {@code id}, or {@code -1} if there is none
+     */
+    public abstract int indexOf(UUID id);
+
+    /**
+     * @return a table with {@code employee} appended
+     */
+    public abstract EmployeeTable withAdded(Employee employee);
+
+    /**
+     * @return a table without the employee at {@code position}
+     */
+    public abstract EmployeeTable withRemoved(int position);
+
+    /**
+     * @return a table with {@code added} appended in order
+     */
+    public abstract EmployeeTable withAddedAll(List<Employee> added);
+
+    /**
+     * Tests titles without decoding them where the table can: equal titles share one offset, so the titles equal to
+     * {@code title} ignoring case are looked up once and each employee's offset is compared with theirs.
+     *
+     * @return whether the employee at a position has {@code title}, ignoring case
+     */
+    public IntPredicate titleMatcher(String title) {
+        return position -> title.equalsIgnoreCase(title(position));
+    }
+
+    /**
+     * @return a new {@link Employee} with the values at {@code position}
+     */
+    public Employee employee(int position) {
+        int salary = salary(position);
+        int age = age(position);
+        Employee employee = new Employee();
+        employee.setUuid(id(position));
+        employee.setEmployeeName(name(position));
+        employee.setEmployeeSalary(salary == NO_VALUE ? null : salary);
+        employee.setEmployeeAge(age == NO_VALUE ? null : age);
+        employee.setEmployeeTitle(title(position));
+        employee.setEmployeeEmail(email(position));
+        return employee;
+    }
+
+    /**
+     * @return every employee in table order, built one at a time as the list is read
+     */
+    public List<Employee> asList() {
+        return employees;
+    }
+
+    /**
+     * @param positions positions into this table, in the order the list should have
+     * @return the employees at {@code positions}, built one at a time as the list is read
+     */
+    public List<Employee> asList(int[] positions) {
+        return new Positions(positions);
+    }
+
+    /*
+     * Adds title to arena unless an equal one is there already, and returns its offset.
+     */
+    static int addTitle(Utf8Arena.Builder arena, Map<String, Integer> titleOffsets, String title) {
+        if (title == null) {
+            return Utf8Arena.NULL;
+        }
+        Integer known = titleOffsets.get(title);
+        if (known != null) {
+            return known;
+        }
+        int offset = arena.add(title);
+        if (titleOffsets.size() < MAX_DISTINCT_TITLES) {
+            titleOffsets.put(title, offset);
+        }
+        return offset;
+    }
+
+    /*
+     * Offsets of the titles equal to title ignoring case, or null if the dictionary filled up and so may miss some.
+     */
+    static int[] matchingTitleOffsets(Map<String, Integer> titleOffsets, String title) {
+        if (titleOffsets.size() >= MAX_DISTINCT_TITLES) {
+            return null;
+        }
+        return titleOffsets.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(title))
+                .mapToInt(Map.Entry::getValue)
+                .toArray();
+    }
+
+    static boolean contains(int[] offsets, int offset) {
+        for (int candidate : offsets) {
+            if (candidate == offset) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Capacity of an id hash table for size employees: at most half full, so probes stay short.
+     */
+    static int idSlotCount(int size) {
+        int capacity = 4;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    static int hash(long most, long least) {
+        long mixed = (most ^ least) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /** Read-only list of the employees at some or all positions, built on every access. */
+    private final class Positions extends AbstractList<Employee> implements RandomAccess {
+
+        /** {@code null} for all positions in order. */
+        private final int[] positions;
+
+        Positions(int[] positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public Employee get(int index) {
+            if (positions == null) {
+                return employee(index);
+            }
+            return employee(positions[index]);
+        }
+
+        @Override
+        public int size() {
+            return positions == null ? EmployeeTable.this.size() : positions.length;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * {@link EmployeeTable} in heap arrays: ids as two {@code long} columns, salary and age as {@code int} columns, and
+ * names, titles and emails as offsets into one {@link Utf8Arena}.
+ *
+ * <p>That is about 50 bytes per employee besides the UTF-8 bytes of its name and email, where an {@link Employee} with
+ * its {@link UUID}, boxed salary, three strings and an entry in a map by id takes about 250 besides its characters.
+ * Patches leave the columns as they are: a {@link PatchedEmployeeTable} holds the changes beside them until enough of
+ * them have piled up to build the table anew.
+ */
+final class HeapEmployeeTable extends EmployeeTable {
+
+    private static final int EMPTY_SLOT = 0;
+
+    private final int size;
+
+    private final boolean[] hasId;
+
+    private final long[] idMostSignificantBits;
+
+    private final long[] idLeastSignificantBits;
+
+    private final int[] salaries;
+
+    private final int[] ages;
+
+    private final int[] names;
+
+    private final int[] titles;
+
+    private final int[] emails;
+
+    private final Utf8Arena arena;
+
+    /** Arena offsets of the distinct titles, by title. */
+    private final Map<String, Integer> titleOffsets;
+
+    /** Position plus one of the employee with the id hashing to each slot, or {@link #EMPTY_SLOT}. */
+    private final int[] idSlots;
+
+    private HeapEmployeeTable(
+            int size,
+            boolean[] hasId,
+            long[] idMostSignificantBits,
+            long[] idLeastSignificantBits,
+            int[] salaries,
+            int[] ages,
+            int[] names,
+            int[] titles,
+            int[] emails,
+            Utf8Arena arena,
+            Map<String, Integer> titleOffsets) {
+        this.size = size;
+        this.hasId = hasId;
+        this.idMostSignificantBits = idMostSignificantBits;
+        this.idLeastSignificantBits = idLeastSignificantBits;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.names = names;
+        this.titles = titles;
+        this.emails = emails;
+        this.arena = arena;
+        this.titleOffsets = titleOffsets;
+        this.idSlots = indexIds();
+    }
+
+    static HeapEmployeeTable build(List<Employee> employees) {
+
+        int size = employees.size();
+
+        boolean[] hasId = new boolean[size];
+        long[] idMostSignificantBits = new long[size];
+        long[] idLeastSignificantBits = new long[size];
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        int[] names = new int[size];
+        int[] titles = new int[size];
+        int[] emails = new int[size];
+
+        Utf8Arena.Builder arena = new Utf8Arena.Builder((int) Math.min(size * 48L, Integer.MAX_VALUE - 8));
+        Map<String, Integer> titleOffsets = new HashMap<>();
+
+        for (int i = 0; i < size; i++) {
+            Employee employee = employees.get(i);
+            UUID id = employee.getUuid();
+            hasId[i] = id != null;
+            idMostSignificantBits[i] = id == null ? 0L : id.getMostSignificantBits();
+            idLeastSignificantBits[i] = id == null ? 0L : id.getLeastSignificantBits();
+            salaries[i] = employee.getEmployeeSalary() == null ? NO_VALUE : employee.getEmployeeSalary();
+            ages[i] = employee.getEmployeeAge() == null ? NO_VALUE : employee.getEmployeeAge();
+            names[i] = arena.add(employee.getEmployeeName());
+            titles[i] = addTitle(arena, titleOffsets, employee.getEmployeeTitle());
+            emails[i] = arena.add(employee.getEmployeeEmail());
+        }
+
+        return new HeapEmployeeTable(
+                size,
+                hasId,
+                idMostSignificantBits,
+                idLeastSignificantBits,
+                salaries,
+                ages,
+                names,
+                titles,
+                emails,
+                arena.build(),
+                Map.copyOf(titleOffsets));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasId(int position) {
+        return hasId[position];
+    }
+
+    @Override
+    public UUID id(int position) {
+        return hasId[position] ? new UUID(idMostSignificantBits[position], idLeastSignificantBits[position]) : null;
+    }
+
+    @Override
+    public int salary(int position) {
+        return salaries[position];
+    }
+
+    @Override
+    public int age(int position) {
+        return ages[position];
+    }
+
+    @Override
+    public String name(int position) {
+        return arena.string(names[position]);
+    }
+
+    @Override
+    public String title(int position) {
+        return arena.string(titles[position]);
+    }
+
+    @Override
+    public String email(int position) {
+        return arena.string(emails[position]);
+    }
+
+    @Override
+    public IntPredicate titleMatcher(String title) {
+        int[] matching = matchingTitleOffsets(titleOffsets, title);
+        return matching == null ? super.titleMatcher(title) : position -> contains(matching, titles[position]);
+    }
+
+    @Override
+    public int indexOf(UUID id) {
+
+        if (id == null) {
+            return -1;
+        }
+
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+        int mask = idSlots.length - 1;
+
+        for (int slot = hash(most, least) & mask; idSlots[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            int position = idSlots[slot] - 1;
+            if (idMostSignificantBits[position] == most && idLeastSignificantBits[position] == least) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public EmployeeTable withAdded(Employee employee) {
+        return PatchedEmployeeTable.withAdded(this, employee);
+    }
+
+    @Override
+    public EmployeeTable withAddedAll(List<Employee> added) {
+        return PatchedEmployeeTable.withAddedAll(this, added);
+    }
+
+    @Override
+    public EmployeeTable withRemoved(int position) {
+        return PatchedEmployeeTable.withRemoved(this, position);
+    }
+
+    /*
+     * A later employee with the same id takes over the slot, as a later put would in a map.
+     */
+    private int[] indexIds() {
+
+        int[] slots = new int[idSlotCount(size)];
+        int mask = slots.length - 1;
+
+        for (int position = 0; position < size; position++) {
+            if (!hasId[position]) {
+                continue;
+            }
+            long most = idMostSignificantBits[position];
+            long least = idLeastSignificantBits[position];
+            int slot = hash(most, least) & mask;
+            while (slots[slot] != EMPTY_SLOT
+                    && (idMostSignificantBits[slots[slot] - 1] != most
+                            || idLeastSignificantBits[slots[slot] - 1] != least)) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = position + 1;
+        }
+        return slots;
+    }
+}
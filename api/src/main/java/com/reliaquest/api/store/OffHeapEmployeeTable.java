@@ -0,0 +1,447 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.lang.ref.Cleaner;
+import java.lang.ref.Reference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * {@link EmployeeTable} in one direct buffer outside the Java heap, so the garbage collector neither traces nor copies
+ * the employees however many there are; on the heap only this object and a small title dictionary remain. The buffer
+ * holds, in order:
+ *
+ * <ul>
+ *   <li>a fixed-size record of {@link #RECORD_BYTES} per employee: the id as two {@code long}s, salary, age, the
+ *       offsets of name, title and email in the string section, and flags
+ *   <li>the id hash table, an {@code int} per slot holding a position plus one, or {@link #EMPTY_SLOT}
+ *   <li>the string section, laid out like a {@link Utf8Arena}: UTF-8 behind a variable-length length prefix
+ * </ul>
+ *
+ * <p>Every table owns its buffer, which is never written once the table is built. Creates and deletes are kept on the
+ * heap by a {@link PatchedEmployeeTable} on top of the table, which writes a new buffer only every so many of them. The
+ * buffer goes back to the {@link DirectBufferPool} once no reader can reach the table any more, directly or through a
+ * patch, including the lazy list views still being serialized; a reader holding the table keeps its buffer intact for
+ * as long as it needs it. Every read fences the table, so it stays reachable while its buffer is read.
+ *
+ * <p>The same layout is what {@link SnapshotFile} persists, so {@link #map(ByteBuffer, int, int)} can serve a table
+ * straight from a mapped file; such a buffer is not pooled.
+ */
+final class OffHeapEmployeeTable extends EmployeeTable {
+
+    static final DirectBufferPool BUFFERS = new DirectBufferPool();
+
+    static final int RECORD_BYTES = 40;
+
+    private static final int ID_MOST_SIGNIFICANT_BITS = 0;
+
+    private static final int ID_LEAST_SIGNIFICANT_BITS = 8;
+
+    private static final int SALARY = 16;
+
+    private static final int AGE = 20;
+
+    private static final int NAME = 24;
+
+    private static final int TITLE = 28;
+
+    private static final int EMAIL = 32;
+
+    private static final int FLAGS = 36;
+
+    private static final int[] STRING_FIELDS = {NAME, TITLE, EMAIL};
+
+    private static final int HAS_ID = 1;
+
+    private static final int EMPTY_SLOT = 0;
+
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final ByteBuffer buffer;
+
+    private final int size;
+
+    private final int slotsStart;
+
+    private final int slotMask;
+
+    private final int stringsStart;
+
+    private final int stringsLength;
+
+    /** Offsets of the distinct titles in the string section, by title. */
+    private final Map<String, Integer> titleOffsets;
+
+    /*
+     * Takes over buffer, whose records and strings are written, and adds the id hash table. A pooled buffer goes back
+     * to the pool once the table is unreachable.
+     */
+    private OffHeapEmployeeTable(
+            ByteBuffer buffer, int size, int stringsLength, Map<String, Integer> titleOffsets, boolean pooled) {
+        this.buffer = buffer;
+        this.size = size;
+        this.slotsStart = size * RECORD_BYTES;
+        this.slotMask = idSlotCount(size) - 1;
+        this.stringsStart = stringsStart(size);
+        this.stringsLength = stringsLength;
+        this.titleOffsets = titleOffsets;
+        indexIds();
+        if (pooled) {
+            CLEANER.register(this, new Release(buffer));
+        }
+    }
+
+    static OffHeapEmployeeTable build(List<Employee> employees) {
+        Layout layout = new Layout(employees);
+        ByteBuffer buffer = BUFFERS.acquire(layout.capacity());
+        layout.writeTo(buffer);
+        return new OffHeapEmployeeTable(
+                buffer, employees.size(), layout.stringsLength(), Map.copyOf(layout.titleOffsets), true);
+    }
+
+    /**
+     * Serves a table from a buffer a {@link Layout} was written to, typically mapped from a file, after checking that
+     * every string lies within the buffer. The id hash table is rebuilt in place, so the buffer must be writable.
+     *
+     * @throws IllegalArgumentException if the buffer does not hold a table of {@code size} employees
+     */
+    static OffHeapEmployeeTable map(ByteBuffer buffer, int size, int stringsLength) {
+
+        if (size < 0 || stringsLength < 0 || buffer.capacity() < capacity(size, stringsLength)) {
+            throw new IllegalArgumentException("Buffer too small for " + size + " employees");
+        }
+
+        int stringsStart = stringsStart(size);
+        Map<Integer, String> titles = new HashMap<>();
+        Map<String, Integer> titleOffsets = new HashMap<>();
+
+        for (int position = 0; position < size; position++) {
+            int record = position * RECORD_BYTES;
+            for (int field : STRING_FIELDS) {
+                int offset = buffer.getInt(record + field);
+                if (offset != Utf8Arena.NULL && !fits(buffer, stringsStart, stringsLength, offset)) {
+                    throw new IllegalArgumentException("String of employee " + position + " out of bounds");
+                }
+            }
+            int title = buffer.getInt(record + TITLE);
+            if (title != Utf8Arena.NULL && titleOffsets.size() < MAX_DISTINCT_TITLES && !titles.containsKey(title)) {
+                String value = readString(buffer, stringsStart + title);
+                titles.put(title, value);
+                titleOffsets.putIfAbsent(value, title);
+            }
+        }
+
+        return new OffHeapEmployeeTable(buffer, size, stringsLength, Map.copyOf(titleOffsets), false);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean hasId(int position) {
+        try {
+            return (buffer.getInt(record(position) + FLAGS) & HAS_ID) != 0;
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public UUID id(int position) {
+        try {
+            int record = record(position);
+            if ((buffer.getInt(record + FLAGS) & HAS_ID) == 0) {
+                return null;
+            }
+            return new UUID(
+                    buffer.getLong(record + ID_MOST_SIGNIFICANT_BITS),
+                    buffer.getLong(record + ID_LEAST_SIGNIFICANT_BITS));
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public int salary(int position) {
+        try {
+            return buffer.getInt(record(position) + SALARY);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public int age(int position) {
+        try {
+            return buffer.getInt(record(position) + AGE);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public String name(int position) {
+        return string(position, NAME);
+    }
+
+    @Override
+    public String title(int position) {
+        return string(position, TITLE);
+    }
+
+    @Override
+    public String email(int position) {
+        return string(position, EMAIL);
+    }
+
+    @Override
+    public IntPredicate titleMatcher(String title) {
+
+        int[] matching = matchingTitleOffsets(titleOffsets, title);
+        if (matching == null) {
+            return super.titleMatcher(title);
+        }
+
+        return position -> {
+            try {
+                return contains(matching, buffer.getInt(record(position) + TITLE));
+            } finally {
+                Reference.reachabilityFence(this);
+            }
+        };
+    }
+
+    @Override
+    public int indexOf(UUID id) {
+
+        if (id == null) {
+            return -1;
+        }
+
+        long most = id.getMostSignificantBits();
+        long least = id.getLeastSignificantBits();
+
+        try {
+            for (int slot = hash(most, least) & slotMask; ; slot = (slot + 1) & slotMask) {
+                int entry = buffer.getInt(slotsStart + slot * Integer.BYTES);
+                if (entry == EMPTY_SLOT) {
+                    return -1;
+                }
+                int record = (entry - 1) * RECORD_BYTES;
+                if (buffer.getLong(record + ID_MOST_SIGNIFICANT_BITS) == most
+                        && buffer.getLong(record + ID_LEAST_SIGNIFICANT_BITS) == least) {
+                    return entry - 1;
+                }
+            }
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    @Override
+    public EmployeeTable withAdded(Employee employee) {
+        return PatchedEmployeeTable.withAdded(this, employee);
+    }
+
+    @Override
+    public EmployeeTable withRemoved(int position) {
+        return PatchedEmployeeTable.withRemoved(this, position);
+    }
+
+    @Override
+    public EmployeeTable withAddedAll(List<Employee> added) {
+        return PatchedEmployeeTable.withAddedAll(this, added);
+    }
+
+    /**
+     * @return direct memory held by off-heap tables, in use or pooled
+     */
+    static long reservedBytes() {
+        return BUFFERS.getReservedBytes();
+    }
+
+    private int record(int position) {
+        return Objects.checkIndex(position, size) * RECORD_BYTES;
+    }
+
+    private String string(int position, int field) {
+        try {
+            int offset = buffer.getInt(record(position) + field);
+            return offset == Utf8Arena.NULL ? null : readString(buffer, stringsStart + offset);
+        } finally {
+            Reference.reachabilityFence(this);
+        }
+    }
+
+    /*
+     * Clears the slots, which may hold data of an earlier table, then adds every employee with an id. A later
+     * employee with the same id takes over the slot, as a later put would in a map.
+     */
+    private void indexIds() {
+
+        for (int slot = 0; slot <= slotMask; slot++) {
+            buffer.putInt(slotsStart + slot * Integer.BYTES, EMPTY_SLOT);
+        }
+
+        for (int position = 0; position < size; position++) {
+            int record = position * RECORD_BYTES;
+            if ((buffer.getInt(record + FLAGS) & HAS_ID) == 0) {
+                continue;
+            }
+            long most = buffer.getLong(record + ID_MOST_SIGNIFICANT_BITS);
+            long least = buffer.getLong(record + ID_LEAST_SIGNIFICANT_BITS);
+            int slot = hash(most, least) & slotMask;
+            while (true) {
+                int entry = buffer.getInt(slotsStart + slot * Integer.BYTES);
+                if (entry == EMPTY_SLOT
+                        || (buffer.getLong((entry - 1) * RECORD_BYTES + ID_MOST_SIGNIFICANT_BITS) == most
+                                && buffer.getLong((entry - 1) * RECORD_BYTES + ID_LEAST_SIGNIFICANT_BITS) == least)) {
+                    break;
+                }
+                slot = (slot + 1) & slotMask;
+            }
+            buffer.putInt(slotsStart + slot * Integer.BYTES, position + 1);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int index) {
+        int utf8Length = readLength(buffer, index);
+        byte[] utf8 = new byte[utf8Length];
+        buffer.get(index + lengthPrefixBytes(buffer, index), utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Whether the string at offset, length prefix included, ends within the string section.
+     */
+    private static boolean fits(ByteBuffer buffer, int stringsStart, int stringsLength, int offset) {
+        if (offset < 0 || offset >= stringsLength) {
+            return false;
+        }
+        int end = stringsStart + stringsLength;
+        int index = stringsStart + offset;
+        for (int prefix = 0; prefix < 5 && index + prefix < end; prefix++) {
+            if (buffer.get(index + prefix) >= 0) {
+                return (long) index + prefix + 1 + readLength(buffer, index) <= end;
+            }
+        }
+        return false;
+    }
+
+    private static int readLength(ByteBuffer buffer, int index) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get(index++);
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value & Integer.MAX_VALUE;
+            }
+        }
+    }
+
+    private static int lengthPrefixBytes(ByteBuffer buffer, int index) {
+        int bytes = 1;
+        while (buffer.get(index++) < 0) {
+            bytes++;
+        }
+        return bytes;
+    }
+
+    private static void putRecord(ByteBuffer buffer, int position, Employee employee, int name, int title, int email) {
+        int record = position * RECORD_BYTES;
+        UUID id = employee.getUuid();
+        buffer.putLong(record + ID_MOST_SIGNIFICANT_BITS, id == null ? 0L : id.getMostSignificantBits());
+        buffer.putLong(record + ID_LEAST_SIGNIFICANT_BITS, id == null ? 0L : id.getLeastSignificantBits());
+        buffer.putInt(record + SALARY, employee.getEmployeeSalary() == null ? NO_VALUE : employee.getEmployeeSalary());
+        buffer.putInt(record + AGE, employee.getEmployeeAge() == null ? NO_VALUE : employee.getEmployeeAge());
+        buffer.putInt(record + NAME, name);
+        buffer.putInt(record + TITLE, title);
+        buffer.putInt(record + EMAIL, email);
+        buffer.putInt(record + FLAGS, id == null ? 0 : HAS_ID);
+    }
+
+    static int stringsStart(int size) {
+        return size * RECORD_BYTES + idSlotCount(size) * Integer.BYTES;
+    }
+
+    /**
+     * @throws IllegalStateException if the table would not fit in one buffer
+     */
+    static int capacity(int size, int stringsLength) {
+        long capacity = (long) size * RECORD_BYTES + (long) idSlotCount(size) * Integer.BYTES + stringsLength;
+        if (capacity > MAX_LENGTH) {
+            throw new IllegalStateException("Off-heap employee table is full at " + size + " employees");
+        }
+        return (int) capacity;
+    }
+
+    /**
+     * Where the strings and records of a list of employees go in a table buffer. The strings are encoded up front,
+     * since their length sizes the buffer.
+     */
+    static final class Layout {
+
+        private final List<Employee> employees;
+
+        /** Name, title and email offset of each employee. */
+        private final int[] offsets;
+
+        private final Utf8Arena.Builder strings;
+
+        private final Map<String, Integer> titleOffsets = new HashMap<>();
+
+        Layout(List<Employee> employees) {
+            int size = employees.size();
+            this.employees = employees;
+            this.offsets = new int[size * 3];
+            this.strings = new Utf8Arena.Builder((int) Math.min(size * 48L, MAX_LENGTH));
+
+            for (int i = 0; i < size; i++) {
+                Employee employee = employees.get(i);
+                offsets[i * 3] = strings.add(employee.getEmployeeName());
+                offsets[i * 3 + 1] = addTitle(strings, titleOffsets, employee.getEmployeeTitle());
+                offsets[i * 3 + 2] = strings.add(employee.getEmployeeEmail());
+            }
+        }
+
+        int stringsLength() {
+            return strings.length();
+        }
+
+        /**
+         * @throws IllegalStateException if the table would not fit in one buffer
+         */
+        int capacity() {
+            return OffHeapEmployeeTable.capacity(employees.size(), strings.length());
+        }
+
+        /**
+         * Writes the records and strings into {@code buffer} from index 0, leaving the id hash table to the table.
+         */
+        void writeTo(ByteBuffer buffer) {
+            for (int i = 0; i < employees.size(); i++) {
+                putRecord(buffer, i, employees.get(i), offsets[i * 3], offsets[i * 3 + 1], offsets[i * 3 + 2]);
+            }
+            strings.copyTo(buffer, stringsStart(employees.size()));
+        }
+    }
+
+    /** Gives a buffer back to the pool; must not refer to the table, or the table would never become unreachable. */
+    private record Release(ByteBuffer buffer) implements Runnable {
+
+        @Override
+        public void run() {
+            BUFFERS.release(buffer);
+        }
+    }
+}
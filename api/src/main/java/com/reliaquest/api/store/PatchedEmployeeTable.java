@@ -0,0 +1,330 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+
+/**
+ * A {@link HeapEmployeeTable} or {@link OffHeapEmployeeTable} with the creates and deletes made since it was built,
+ * held beside it rather than written into it. Added employees are appended to a log after the base table's ones, and
+ * removed employees, of either, are recorded as their index in that sequence in a {@link PositionSet}. Once the
+ * pending changes reach an eighth of the base table's employees, or {@link #MIN_PENDING} if that is more, the next
+ * patch builds the whole table anew where the base table is kept.
+ *
+ * <p>A patch therefore costs O(log p) for p pending changes, plus its share of the rebuild, which is O(1) amortized
+ * since a rebuild of n employees happens at most once per n / 8 patches. Off the heap it also means a burst of writes
+ * takes one buffer per that many writes rather than one per write. Reads map a position through the removed set in
+ * O(log p) before reading the base table or the log.
+ *
+ * <p>Like a {@link Utf8Arena}, the log is shared by the tables derived from one another and appended in place when no
+ * other table has appended past this one's end yet, and copied otherwise. The base table, and with it any buffer, stays
+ * in use until neither it nor any patch of it can be reached.
+ */
+final class PatchedEmployeeTable extends EmployeeTable {
+
+    /** Changes that may always be pending, however few employees the base table holds. */
+    static final int MIN_PENDING = 64;
+
+    /** Pending changes may also make up to one in this many of the base table's employees. */
+    private static final int PENDING_SHARE = 8;
+
+    private final EmployeeTable base;
+
+    private final Additions additions;
+
+    /** Entries of {@link #additions} that belong to this table; later ones were appended by other tables. */
+    private final int addedCount;
+
+    /** Indexes of the removed employees, the base table's first and then the added ones after them. */
+    private final PositionSet removed;
+
+    private PatchedEmployeeTable(EmployeeTable base, Additions additions, int addedCount, PositionSet removed) {
+        this.base = base;
+        this.additions = additions;
+        this.addedCount = addedCount;
+        this.removed = removed;
+    }
+
+    static EmployeeTable withAdded(EmployeeTable base, Employee employee) {
+        return over(base).withAdded(employee);
+    }
+
+    static EmployeeTable withAddedAll(EmployeeTable base, List<Employee> employees) {
+        return over(base).withAddedAll(employees);
+    }
+
+    static EmployeeTable withRemoved(EmployeeTable base, int position) {
+        return over(base).withRemoved(position);
+    }
+
+    private static PatchedEmployeeTable over(EmployeeTable base) {
+        return new PatchedEmployeeTable(base, Additions.EMPTY, 0, PositionSet.EMPTY);
+    }
+
+    @Override
+    public int size() {
+        return base.size() + addedCount - removed.size();
+    }
+
+    @Override
+    public boolean hasId(int position) {
+        int index = index(position);
+        return index < base.size() ? base.hasId(index) : added(index).getUuid() != null;
+    }
+
+    @Override
+    public UUID id(int position) {
+        int index = index(position);
+        return index < base.size() ? base.id(index) : added(index).getUuid();
+    }
+
+    @Override
+    public int salary(int position) {
+        int index = index(position);
+        return index < base.size() ? base.salary(index) : valueOf(added(index).getEmployeeSalary());
+    }
+
+    @Override
+    public int age(int position) {
+        int index = index(position);
+        return index < base.size() ? base.age(index) : valueOf(added(index).getEmployeeAge());
+    }
+
+    @Override
+    public String name(int position) {
+        int index = index(position);
+        return index < base.size() ? base.name(index) : added(index).getEmployeeName();
+    }
+
+    @Override
+    public String title(int position) {
+        int index = index(position);
+        return index < base.size() ? base.title(index) : added(index).getEmployeeTitle();
+    }
+
+    @Override
+    public String email(int position) {
+        int index = index(position);
+        return index < base.size() ? base.email(index) : added(index).getEmployeeEmail();
+    }
+
+    @Override
+    public IntPredicate titleMatcher(String title) {
+        IntPredicate inBase = base.titleMatcher(title);
+        return position -> {
+            int index = index(position);
+            return index < base.size() ? inBase.test(index) : title.equalsIgnoreCase(added(index).getEmployeeTitle());
+        };
+    }
+
+    /*
+     * The added employees come last, so one of them is the last with id if any is. Removed ones are passed over for
+     * an earlier employee with the same id: in the log along the chain of equal ids, in the base table one by one.
+     */
+    @Override
+    public int indexOf(UUID id) {
+
+        if (id == null) {
+            return -1;
+        }
+
+        int entry = additions.lastIndexOf(id, addedCount);
+        while (entry >= 0 && removed.contains(base.size() + entry)) {
+            entry = additions.previous[entry];
+        }
+        if (entry >= 0) {
+            return positionOf(base.size() + entry);
+        }
+
+        int index = base.indexOf(id);
+        while (index >= 0 && removed.contains(index)) {
+            do {
+                index--;
+            } while (index >= 0 && !id.equals(base.id(index)));
+        }
+        return index < 0 ? -1 : positionOf(index);
+    }
+
+    @Override
+    public EmployeeTable withAdded(Employee employee) {
+
+        if (!hasRoomFor(1)) {
+            List<Employee> employees = new ArrayList<>(size() + 1);
+            employees.addAll(asList());
+            employees.add(employee);
+            return rebuild(employees);
+        }
+
+        return new PatchedEmployeeTable(base, additions.append(addedCount, copyOf(employee)), addedCount + 1, removed);
+    }
+
+    @Override
+    public EmployeeTable withAddedAll(List<Employee> employees) {
+
+        if (!hasRoomFor(employees.size())) {
+            List<Employee> all = new ArrayList<>(size() + employees.size());
+            all.addAll(asList());
+            all.addAll(employees);
+            return rebuild(all);
+        }
+
+        Additions appended = additions;
+        int count = addedCount;
+        for (Employee employee : employees) {
+            appended = appended.append(count++, copyOf(employee));
+        }
+        return new PatchedEmployeeTable(base, appended, count, removed);
+    }
+
+    @Override
+    public EmployeeTable withRemoved(int position) {
+
+        int index = index(position);
+
+        if (!hasRoomFor(1)) {
+            List<Employee> employees = new ArrayList<>(asList());
+            employees.remove(position);
+            return rebuild(employees);
+        }
+
+        return new PatchedEmployeeTable(base, additions, addedCount, removed.with(index));
+    }
+
+    /*
+     * Index in the base table, or past its size in the log, of the employee at position.
+     */
+    private int index(int position) {
+        Objects.checkIndex(position, size());
+        return removed.skip(position);
+    }
+
+    private int positionOf(int index) {
+        return index - removed.countBelow(index);
+    }
+
+    private Employee added(int index) {
+        return additions.employees[index - base.size()];
+    }
+
+    private boolean hasRoomFor(int changes) {
+        return addedCount + removed.size() + changes <= Math.max(MIN_PENDING, base.size() / PENDING_SHARE);
+    }
+
+    private EmployeeTable rebuild(List<Employee> employees) {
+        return base instanceof OffHeapEmployeeTable
+                ? OffHeapEmployeeTable.build(employees)
+                : HeapEmployeeTable.build(employees);
+    }
+
+    private static int valueOf(Integer value) {
+        return value == null ? NO_VALUE : value;
+    }
+
+    /*
+     * The log keeps employees as objects, so it takes a copy the caller cannot change any more.
+     */
+    private static Employee copyOf(Employee employee) {
+        Employee copy = new Employee();
+        copy.setUuid(employee.getUuid());
+        copy.setEmployeeName(employee.getEmployeeName());
+        copy.setEmployeeSalary(employee.getEmployeeSalary());
+        copy.setEmployeeAge(employee.getEmployeeAge());
+        copy.setEmployeeTitle(employee.getEmployeeTitle());
+        copy.setEmployeeEmail(employee.getEmployeeEmail());
+        return copy;
+    }
+
+    /**
+     * Added employees in order, with an open-addressing hash table from each id to its latest entry and a chain from
+     * every entry to the previous one with the same id. A table whose end is behind the latest entry follows the chain
+     * back into its own entries. Slots are published with a volatile write after the entry they point to, so a table
+     * reading a slot another one just filled sees that entry as well.
+     */
+    private static final class Additions {
+
+        static final Additions EMPTY = new Additions(0, 0);
+
+        private final Employee[] employees;
+
+        /** Previous entry with the same id by entry, or -1. */
+        private final int[] previous;
+
+        /** Latest entry plus one with an id hashing to each slot, or 0. */
+        private final AtomicIntegerArray slots;
+
+        private final AtomicInteger end;
+
+        Additions(int capacity, int end) {
+            this.employees = new Employee[capacity];
+            this.previous = new int[capacity];
+            this.slots = new AtomicIntegerArray(idSlotCount(capacity));
+            this.end = new AtomicInteger(end);
+        }
+
+        /**
+         * @return the log with {@code employee} as entry {@code count}, the end of the table appending it
+         */
+        Additions append(int count, Employee employee) {
+
+            Additions target = this;
+            if (count == employees.length || !end.compareAndSet(count, count + 1)) {
+                target = new Additions(Math.max(16, count * 2), count + 1);
+                for (int entry = 0; entry < count; entry++) {
+                    target.put(entry, employees[entry]);
+                }
+            }
+            target.put(count, employee);
+            return target;
+        }
+
+        /**
+         * @return the latest of the first {@code count} entries with {@code id}, or -1
+         */
+        int lastIndexOf(UUID id, int count) {
+
+            int mask = slots.length() - 1;
+            for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+                int entry = slots.get(slot) - 1;
+                if (entry < 0) {
+                    return -1;
+                }
+                if (id.equals(employees[entry].getUuid())) {
+                    while (entry >= count) {
+                        entry = previous[entry];
+                    }
+                    return entry;
+                }
+            }
+        }
+
+        private void put(int entry, Employee employee) {
+
+            employees[entry] = employee;
+            previous[entry] = -1;
+
+            UUID id = employee.getUuid();
+            if (id == null) {
+                return;
+            }
+
+            int mask = slots.length() - 1;
+            for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+                int latest = slots.get(slot) - 1;
+                if (latest < 0 || id.equals(employees[latest].getUuid())) {
+                    previous[entry] = latest;
+                    slots.set(slot, entry + 1);
+                    return;
+                }
+            }
+        }
+
+        private static int hash(UUID id) {
+            return EmployeeTable.hash(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.api.store;
+
+/**
+ * Immutable sorted set of non-negative positions, kept as a treap whose priorities are a hash of the position, so its
+ * shape does not depend on the order positions arrive in and stays balanced on average. {@link #with(int)} copies only
+ * the nodes on the path to the new position and shares the rest with this set, so a patch and the set it was derived
+ * from cost O(log n) together rather than a copy each.
+ *
+ * <p>Besides membership, every node counts the positions below it, which answers how many positions of the set lie
+ * below a given one, and which position is the k-th one not in the set, in O(log n) as well.
+ */
+final class PositionSet {
+
+    static final PositionSet EMPTY = new PositionSet(null);
+
+    private final Node root;
+
+    private PositionSet(Node root) {
+        this.root = root;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean contains(int position) {
+        for (Node node = root; node != null; ) {
+            if (position == node.position) {
+                return true;
+            }
+            node = position < node.position ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * @return how many positions of this set are less than {@code position}
+     */
+    int countBelow(int position) {
+        int count = 0;
+        for (Node node = root; node != null; ) {
+            if (node.position < position) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The k-th member has {@code member - k} positions outside the set below it, which never decreases with k, so the
+     * members with no more than {@code index} of those below them are skipped along one path.
+     *
+     * @return the {@code index}-th position, counting from zero, that is not in this set
+     */
+    int skip(int index) {
+        int skipped = 0;
+        for (Node node = root; node != null; ) {
+            int rank = skipped + size(node.left);
+            if (node.position - rank <= index) {
+                skipped = rank + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return index + skipped;
+    }
+
+    /**
+     * @return this set with {@code position} added, which it must not hold yet
+     */
+    PositionSet with(int position) {
+        return new PositionSet(insert(root, position, priority(position)));
+    }
+
+    private static Node insert(Node node, int position, int priority) {
+
+        if (node == null) {
+            return new Node(position, priority, null, null);
+        }
+
+        if (position < node.position) {
+            Node left = insert(node.left, position, priority);
+            if (left.priority > node.priority) {
+                return new Node(left.position, left.priority, left.left, node.with(left.right, node.right));
+            }
+            return node.with(left, node.right);
+        }
+
+        Node right = insert(node.right, position, priority);
+        if (right.priority > node.priority) {
+            return new Node(right.position, right.priority, node.with(node.left, right.left), right.right);
+        }
+        return node.with(node.left, right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /*
+     * The finalizer of MurmurHash3, so runs of neighbouring positions get unrelated priorities.
+     */
+    private static int priority(int position) {
+        int hash = position;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static final class Node {
+
+        private final int position;
+
+        private final int priority;
+
+        private final Node left;
+
+        private final Node right;
+
+        /** Positions in this subtree, this one included. */
+        private final int size;
+
+        Node(int position, int priority, Node left, Node right) {
+            this.position = position;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        Node with(Node left, Node right) {
+            return new Node(position, priority, left, right);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.api.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Persists an employee table to a file in the layout of an off-heap table, behind a small header, so that a restarted
+ * api can map the file and serve the employees in it right away, with no parsing and no copy onto the heap.
+ *
+ * <p>The header holds a magic number, the format version, the number of employees, the length of the string section,
+ * the load time in epoch milliseconds and the upstream entity tag of the list as length-prefixed UTF-8. All numbers are
+ * big-endian. {@link #write(Path, EmployeeTable, Instant, String)} writes a temporary file and moves it over the
+ * previous one, so a reader never sees a half-written file.
+ */
+public final class SnapshotFile {
+
+    private static final int MAGIC = 0x454D5053;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** Magic, format version, size, strings length, load time and entity tag length. */
+    private static final int FIXED_HEADER_BYTES = 28;
+
+    private static final int MAX_ETAG_BYTES = 1024;
+
+    private SnapshotFile() {}
+
+    /**
+     * @param upstreamETag entity tag of the list {@code table} was loaded from, or {@code null}
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, EmployeeTable table, Instant loadedAt, String upstreamETag) throws IOException {
+
+        byte[] eTag = upstreamETag == null ? new byte[0] : upstreamETag.getBytes(StandardCharsets.UTF_8);
+        if (eTag.length > MAX_ETAG_BYTES) {
+            eTag = new byte[0];
+        }
+
+        OffHeapEmployeeTable.Layout layout = new OffHeapEmployeeTable.Layout(table.asList());
+        int headerBytes = headerBytes(eTag.length);
+
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(
+                temporary,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+
+            MappedByteBuffer mapped =
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) headerBytes + layout.capacity());
+
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, FORMAT_VERSION);
+            mapped.putInt(8, table.size());
+            mapped.putInt(12, layout.stringsLength());
+            mapped.putLong(16, loadedAt.toEpochMilli());
+            mapped.putInt(24, eTag.length);
+            mapped.put(FIXED_HEADER_BYTES, eTag);
+
+            layout.writeTo(mapped.slice(headerBytes, layout.capacity()));
+            mapped.force();
+        }
+
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Maps {@code file} privately: pages are read from the file as they are first touched, and the id hash table
+     * rebuilt in the mapping never reaches the file.
+     *
+     * @return the table in the file with its load time and upstream entity tag, or {@code null} if there is no file
+     * @throws IOException if the file cannot be read or does not hold a snapshot
+     */
+    public static Contents read(Path file) throws IOException {
+
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            long length = channel.size();
+            if (length < FIXED_HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not an employee snapshot file: " + file);
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.PRIVATE, 0, length);
+
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot file of version " + FORMAT_VERSION + ": " + file);
+            }
+
+            int size = mapped.getInt(8);
+            int stringsLength = mapped.getInt(12);
+            Instant loadedAt = Instant.ofEpochMilli(mapped.getLong(16));
+            int eTagLength = mapped.getInt(24);
+
+            if (eTagLength < 0 || eTagLength > MAX_ETAG_BYTES || FIXED_HEADER_BYTES + eTagLength > length) {
+                throw new IOException("Corrupt employee snapshot file header: " + file);
+            }
+
+            byte[] eTag = new byte[eTagLength];
+            mapped.get(FIXED_HEADER_BYTES, eTag);
+            int headerBytes = headerBytes(eTagLength);
+
+            try {
+                if (size < 0 || size > length / OffHeapEmployeeTable.RECORD_BYTES) {
+                    throw new IllegalArgumentException("Implausible employee count " + size);
+                }
+                if (headerBytes + (long) OffHeapEmployeeTable.capacity(size, stringsLength) != length) {
+                    throw new IllegalArgumentException("File length does not match " + size + " employees");
+                }
+                ByteBuffer body = mapped.slice(headerBytes, (int) length - headerBytes);
+                return new Contents(
+                        OffHeapEmployeeTable.map(body, size, stringsLength),
+                        loadedAt,
+                        eTagLength == 0 ? null : new String(eTag, StandardCharsets.UTF_8));
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                throw new IOException("Corrupt employee snapshot file " + file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /*
+     * Rounded up to a multiple of 8, so the longs in the records stay aligned.
+     */
+    private static int headerBytes(int eTagLength) {
+        return (FIXED_HEADER_BYTES + eTagLength + 7) & ~7;
+    }
+
+    /**
+     * @param table the employees, served from the mapped file
+     * @param loadedAt when the employees were loaded from the Mock Employee API
+     * @param upstreamETag entity tag of that list, or {@code null}
+     */
+    public record Contents(EmployeeTable table, Instant loadedAt, String upstreamETag) {}
+}
@@ -0,0 +1,205 @@
+package com.reliaquest.api.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only byte arena holding strings as UTF-8, each behind a variable-length length prefix, and referenced by
+ * {@code int} offset; {@link #NULL} stands for a {@code null} string.
+ *
+ * <p>Instances are immutable views of a prefix of a shared buffer. {@link #append(byte[])} writes into the spare
+ * capacity of that buffer when no other view has appended past this one's end yet, and copies the buffer otherwise,
+ * so a chain of snapshots each adding one employee shares a single buffer. Bytes beyond a view's length are never
+ * read through it, and offsets stay valid across copies. Entries dropped by their owner stay in the buffer until the
+ * next full build.
+ */
+public final class Utf8Arena {
+
+    public static final int NULL = -1;
+
+    public static final Utf8Arena EMPTY = new Utf8Arena(new Buffer(new byte[0], 0), 0);
+
+    private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+
+    private final Buffer buffer;
+
+    private final int length;
+
+    private Utf8Arena(Buffer buffer, int length) {
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * @return the offset the next appended string will have
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * @return an arena with {@code utf8} appended at offset {@link #length()}
+     * @throws IllegalStateException if the arena would outgrow an {@code int} offset
+     */
+    public Utf8Arena append(byte[] utf8) {
+
+        int needed = prefixLength(utf8.length) + utf8.length;
+        if (needed > MAX_LENGTH - length) {
+            throw new IllegalStateException("Employee string arena is full at " + length + " bytes");
+        }
+
+        int end = length + needed;
+        Buffer target = buffer;
+
+        if (end > target.bytes.length || !target.end.compareAndSet(length, end)) {
+            long grown = Math.max(end, Math.max(16L, (long) length * 2));
+            target = new Buffer(Arrays.copyOf(buffer.bytes, (int) Math.min(grown, MAX_LENGTH)), end);
+        }
+
+        int position = writePrefix(target.bytes, length, utf8.length);
+        System.arraycopy(utf8, 0, target.bytes, position, utf8.length);
+
+        return new Utf8Arena(target, end);
+    }
+
+    /**
+     * @return the string at {@code offset}, or {@code null} for {@link #NULL}
+     */
+    public String string(int offset) {
+        if (offset == NULL) {
+            return null;
+        }
+        byte[] bytes = buffer.bytes;
+        int utf8Length = readPrefix(bytes, offset);
+        return new String(bytes, offset + prefixLength(utf8Length), utf8Length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return whether the string at {@code offset} contains {@code utf8}; a {@link #NULL} string contains nothing
+     */
+    public boolean contains(int offset, byte[] utf8) {
+
+        if (offset == NULL) {
+            return false;
+        }
+
+        byte[] bytes = buffer.bytes;
+        int utf8Length = readPrefix(bytes, offset);
+        int start = offset + prefixLength(utf8Length);
+        int last = start + utf8Length - utf8.length;
+
+        // UTF-8 is self-synchronizing, so a byte match is a character match.
+        outer:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < utf8.length; j++) {
+                if (bytes[i + j] != utf8[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static int prefixLength(int value) {
+        return value < 0x80 ? 1 : value < 0x4000 ? 2 : value < 0x200000 ? 3 : value < 0x10000000 ? 4 : 5;
+    }
+
+    private static int writePrefix(byte[] bytes, int position, int value) {
+        while (value >= 0x80) {
+            bytes[position++] = (byte) (value | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte) value;
+        return position;
+    }
+
+    private static int readPrefix(byte[] bytes, int position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Writes a new arena in one go, growing its buffer as needed. Not thread-safe.
+     */
+    public static final class Builder {
+
+        private byte[] bytes;
+
+        private int length;
+
+        public Builder(int expectedBytes) {
+            this.bytes = new byte[Math.max(16, expectedBytes)];
+        }
+
+        /**
+         * @return the offset of {@code value}, or {@link #NULL} if it is {@code null}
+         */
+        public int add(String value) {
+            return value == null ? NULL : add(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return the offset of {@code utf8}
+         */
+        public int add(byte[] utf8) {
+
+            int needed = prefixLength(utf8.length) + utf8.length;
+            if (needed > MAX_LENGTH - length) {
+                throw new IllegalStateException("Employee string arena is full at " + length + " bytes");
+            }
+            if (length + needed > bytes.length) {
+                long grown = Math.max((long) bytes.length * 2, length + needed);
+                bytes = Arrays.copyOf(bytes, (int) Math.min(grown, MAX_LENGTH));
+            }
+
+            int offset = length;
+            length = writePrefix(bytes, length, utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+            return offset;
+        }
+
+        /**
+         * @return the offset the next added string will have
+         */
+        int length() {
+            return length;
+        }
+
+        /**
+         * Copies the entries added so far into {@code target} at {@code index}, where offsets count from.
+         */
+        void copyTo(ByteBuffer target, int index) {
+            target.put(index, bytes, 0, length);
+        }
+
+        /**
+         * @return an arena holding the entries added so far, sized to fit
+         */
+        public Utf8Arena build() {
+            return new Utf8Arena(new Buffer(Arrays.copyOf(bytes, length), length), length);
+        }
+    }
+
+    /** The shared bytes, and how far the views built on them have written. */
+    private static final class Buffer {
+
+        private final byte[] bytes;
+
+        private final AtomicInteger end;
+
+        Buffer(byte[] bytes, int end) {
+            this.bytes = bytes;
+            this.end = new AtomicInteger(end);
+        }
+    }
+}
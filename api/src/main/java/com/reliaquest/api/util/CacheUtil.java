@@ -1,31 +1,97 @@
 package com.reliaquest.api.util;
 
-import com.reliaquest.api.config.CachingConfig;
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeCreation;
+import com.reliaquest.api.service.EmployeeSnapshotStore;
+import java.util.List;
+import java.util.Objects;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+/**
+ * Keeps the employee snapshot in step with writes. The advised methods return a cold {@link Mono}, so the write has
+ * not happened yet when they return; the snapshot is only patched once the upstream has confirmed it. Full reloads
+ * are left to the periodic refresh.
+ *
+ * <p>Bulk creates are patched in batches of up to {@code emp.bulk.patch-batch-size} employees, or whatever was created
+ * within {@code emp.bulk.patch-interval}, each as a single snapshot version. Their results are passed on once the
+ * batch is in, so a client can read any employee it has been told about. A bulk create cancelled halfway marks the
+ * snapshot stale instead, since its last batch may never be patched in.
+ */
 @Aspect
 @Component
 public class CacheUtil {
 
     @Autowired
-    private CacheManager cacheManager;
+    private EmployeeSnapshotStore snapshotStore;
 
-    @AfterReturning("execution(* com.reliaquest.api.service.EmployeeService.createEmployee(..))")
-    public void refreshCacheAfterCreate(JoinPoint joinPoint) {
-        cacheEvict();
+    @Autowired
+    private EmployeeBulkProperties bulkProperties;
+
+    @Around("execution(* com.reliaquest.api.service.EmployeeService.createEmployee(..))")
+    public Object refreshCacheAfterCreate(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Object result = joinPoint.proceed();
+
+        if (result instanceof Mono<?> mono) {
+            return mono.doOnSuccess(created -> {
+                if (created instanceof Employee employee) {
+                    snapshotStore.applyCreated(employee);
+                }
+            });
+        }
+
+        snapshotStore.markStale();
+        return result;
     }
 
-    @AfterReturning("execution(* com.reliaquest.api.service.EmployeeService.deleteEmployee(..))")
-    public void refreshCacheAfterDelete(JoinPoint joinPoint) {
-        cacheEvict();
+    @Around("execution(* com.reliaquest.api.service.EmployeeService.createEmployees(..))")
+    public Object refreshCacheAfterBulkCreate(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Object result = joinPoint.proceed();
+
+        if (result instanceof Flux<?> flux) {
+            int batchSize = Math.max(1, bulkProperties.getPatchBatchSize());
+            return flux.bufferTimeout(batchSize, bulkProperties.getPatchInterval())
+                    .concatMapIterable(batch -> {
+                        List<Employee> created = batch.stream()
+                                .filter(EmployeeCreation.class::isInstance)
+                                .map(creation -> ((EmployeeCreation) creation).getEmployee())
+                                .filter(Objects::nonNull)
+                                .toList();
+                        if (!created.isEmpty()) {
+                            snapshotStore.applyCreated(created);
+                        }
+                        return batch;
+                    })
+                    // Employees created before a cancel but not patched in yet are left to the next reload.
+                    .doOnCancel(snapshotStore::markStale);
+        }
+
+        snapshotStore.markStale();
+        return result;
     }
 
-    public void cacheEvict() {
-        cacheManager.getCache(CachingConfig.EMP_CACHE).clear();
+    @Around("execution(* com.reliaquest.api.service.EmployeeService.deleteEmployee(..)) && args(employee)")
+    public Object refreshCacheAfterDelete(ProceedingJoinPoint joinPoint, Employee employee) throws Throwable {
+
+        Object result = joinPoint.proceed();
+
+        if (result instanceof Mono<?> mono) {
+            return mono.doOnSuccess(deleted -> {
+                if (Boolean.TRUE.equals(deleted)) {
+                    snapshotStore.applyDeleted(employee);
+                }
+            });
+        }
+
+        snapshotStore.markStale();
+        return result;
     }
 }
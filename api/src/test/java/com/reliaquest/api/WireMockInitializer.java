@@ -2,6 +2,7 @@ package com.reliaquest.api;
 
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.event.ContextClosedEvent;
@@ -11,10 +12,23 @@ public class WireMockInitializer implements ApplicationContextInitializer<Config
     @Override
     public void initialize(ConfigurableApplicationContext applicationContext) {
 
-        WireMockServer wireMockServer = new WireMockServer(new WireMockConfiguration().port(8112));
+        // Dynamic port so that contexts with different configurations (e.g. the reactive profile) can coexist in the
+        // test context cache without fighting over the same socket.
+        WireMockServer wireMockServer = new WireMockServer(new WireMockConfiguration().dynamicPort());
 
         wireMockServer.start();
 
+        // The stubs answer 429 and 5xx on purpose, which would teach the client-side rate limiter to hold back calls
+        // and open the circuit breaker across unrelated tests. Benchmarks need the bulkhead out of the way too, and
+        // the startup warm-up would load the list before any test has stubbed it.
+        TestPropertyValues.of(
+                        "emp.service.url=http://localhost:" + wireMockServer.port() + "/api/v1",
+                        "emp.rate-limit.enabled=false",
+                        "emp.resilience.circuit-breaker.enabled=false",
+                        "emp.resilience.bulkhead.enabled=false",
+                        "emp.warm-up.enabled=false")
+                .applyTo(applicationContext);
+
         applicationContext.addApplicationListener(applicationEvent -> {
             if (applicationEvent instanceof ContextClosedEvent) {
                 wireMockServer.stop();
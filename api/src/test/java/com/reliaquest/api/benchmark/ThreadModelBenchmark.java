@@ -0,0 +1,145 @@
+package com.reliaquest.api.benchmark;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.WireMockInitializer;
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Compares Tomcat request handling on platform threads against virtual threads (profile {@code virtual}) while the
+ * Mock Employee API answers slowly. Each run fires {@link #CONCURRENT_REQUESTS} simultaneous creates, which always go
+ * to the upstream and block in {@code EmployeeController}, against a Tomcat capped at {@link #TOMCAT_MAX_THREADS}
+ * threads.
+ *
+ * <p>Run with {@code ./gradlew api:benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = ApiApplication.class,
+        properties = {"server.tomcat.threads.max=" + ThreadModelBenchmark.TOMCAT_MAX_THREADS})
+@ContextConfiguration(initializers = {WireMockInitializer.class})
+abstract class ThreadModelBenchmark {
+
+    static final int TOMCAT_MAX_THREADS = 50;
+
+    private static final int CONCURRENT_REQUESTS = 500;
+
+    private static final int UPSTREAM_LATENCY_MILLIS = 200;
+
+    private static final int WARM_UP_ROUNDS = 2;
+
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static final String EMPLOYEE_URL = "/api/v1/employee";
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @LocalServerPort
+    private int port;
+
+    @ActiveProfiles("default")
+    static class PlatformThreads extends ThreadModelBenchmark {}
+
+    @ActiveProfiles("virtual")
+    static class VirtualThreads extends ThreadModelBenchmark {}
+
+    @Test
+    void createEmployeeUnderSlowUpstream() throws Exception {
+
+        String employeeRegisterResponse = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/response/EmployeeRegisterResponse.json"),
+                Charset.forName("UTF-8"));
+
+        String createEmployeeRequest = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/request/CreateEmployeeRequest.json"),
+                Charset.forName("UTF-8"));
+
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(UPSTREAM_LATENCY_MILLIS)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeRegisterResponse)));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v2/employees"))
+                .header(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(createEmployeeRequest))
+                .build();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(clients)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            for (int round = 0; round < WARM_UP_ROUNDS; round++) {
+                runRound(httpClient, clients, request);
+            }
+
+            long[] roundMillis = new long[MEASURED_ROUNDS];
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                roundMillis[round] = runRound(httpClient, clients, request);
+            }
+
+            Arrays.sort(roundMillis);
+            long median = roundMillis[MEASURED_ROUNDS / 2];
+
+            System.out.printf(
+                    "%s: %d concurrent creates, %d ms upstream latency -> median %d ms per round"
+                            + " (%.0f req/s), rounds %s%n",
+                    getClass().getSimpleName(),
+                    CONCURRENT_REQUESTS,
+                    UPSTREAM_LATENCY_MILLIS,
+                    median,
+                    CONCURRENT_REQUESTS * 1000.0 / median,
+                    Arrays.toString(roundMillis));
+        }
+    }
+
+    private long runRound(HttpClient httpClient, ExecutorService clients, HttpRequest request) throws Exception {
+
+        long start = System.nanoTime();
+
+        List<Future<Integer>> responses = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            responses.add(clients.submit(() -> httpClient
+                    .send(request, HttpResponse.BodyHandlers.discarding())
+                    .statusCode()));
+        }
+
+        for (Future<Integer> response : responses) {
+            assertThat(response.get()).isEqualTo(200);
+        }
+
+        return Duration.ofNanos(System.nanoTime() - start).toMillis();
+    }
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.config.UpstreamRateLimitProperties;
+import com.reliaquest.api.exception.LocalRateLimitException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private long nanos;
+
+    private AdaptiveRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamRateLimitProperties properties = new UpstreamRateLimitProperties();
+        properties.setInitialCapacity(10);
+        properties.setInitialWindow(Duration.ofSeconds(30));
+        properties.setMaxWindow(Duration.ofMinutes(2));
+        properties.setMaxWait(Duration.ofSeconds(45));
+
+        rateLimiter = new AdaptiveRateLimiter(properties, () -> nanos);
+    }
+
+    @Test
+    void givenUpstreamBudgetBelowCapacity_when429_thenCapacityDropsAndBucketLocksFromLastAcceptedRequest() {
+
+        for (int i = 0; i < 6; i++) {
+            assertEquals(Duration.ZERO, rateLimiter.reserve().delay());
+            rateLimiter.onAccepted();
+        }
+
+        advance(Duration.ofSeconds(1));
+        assertEquals(Duration.ZERO, rateLimiter.reserve().delay());
+        rateLimiter.onRateLimited(null);
+
+        assertEquals(6, rateLimiter.getCapacity());
+        assertEquals(Duration.ofSeconds(29), rateLimiter.reserve().delay());
+    }
+
+    @Test
+    void givenExhaustedBucket_whenReserved_thenQueuedPerWindowAndRejectedBeyondMaxWait() {
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ZERO, rateLimiter.reserve().delay());
+        }
+
+        // The next ten fit in the following window, the ten after in the one after that, which is beyond max wait.
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Duration.ofSeconds(30), rateLimiter.reserve().delay());
+        }
+        assertThrows(LocalRateLimitException.class, rateLimiter::reserve);
+
+        advance(Duration.ofSeconds(30));
+        assertEquals(Duration.ofSeconds(30), rateLimiter.reserve().delay());
+    }
+
+    @Test
+    void given429RightAfterLockout_whenRateLimited_thenWindowGrows() {
+
+        rateLimiter.reserve();
+        rateLimiter.onAccepted();
+        rateLimiter.reserve();
+        rateLimiter.onRateLimited(null);
+
+        advance(Duration.ofSeconds(30));
+        assertEquals(Duration.ZERO, rateLimiter.reserve().delay());
+        rateLimiter.onRateLimited(null);
+
+        assertEquals(Duration.ofMillis(37_500), rateLimiter.getWindow());
+        assertEquals(Duration.ofMillis(37_500), rateLimiter.reserve().delay());
+    }
+
+    @Test
+    void givenRetryAfter_whenRateLimited_thenLockedForExactlyThatLong() {
+
+        rateLimiter.reserve();
+        rateLimiter.onRateLimited(Duration.ofSeconds(5));
+
+        assertEquals(Duration.ofSeconds(5), rateLimiter.reserve().delay());
+        assertEquals(Duration.ofSeconds(30), rateLimiter.getWindow());
+    }
+
+    @Test
+    void given429WhileCallersAreQueued_whenTheirDelayEnds_thenTheyWaitOutTheNewLockout() {
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.reserve();
+        }
+        List<AdaptiveRateLimiter.Reservation> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(rateLimiter.reserve());
+        }
+        AdaptiveRateLimiter.Reservation unaffected = queued.get(0);
+
+        // One of the requests already sent is turned away, locking the upstream until 31s.
+        advance(Duration.ofSeconds(1));
+        rateLimiter.onRateLimited(null);
+
+        advance(Duration.ofSeconds(29));
+        for (AdaptiveRateLimiter.Reservation reservation : queued) {
+            assertEquals(Duration.ofSeconds(1), rateLimiter.confirm(reservation).delay());
+        }
+        // Queued behind them, in the window after.
+        assertEquals(Duration.ofSeconds(31), rateLimiter.reserve().delay());
+
+        AdaptiveRateLimiter.Reservation current = rateLimiter.reserve();
+        assertSame(current, rateLimiter.confirm(current));
+        assertNotSame(unaffected, rateLimiter.confirm(unaffected));
+    }
+
+    @Test
+    void givenLongRetryAfterWhileCallersAreQueued_whenTheirDelayEnds_thenTheyAreRejected() {
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.reserve();
+        }
+        AdaptiveRateLimiter.Reservation queued = rateLimiter.reserve();
+
+        rateLimiter.onRateLimited(Duration.ofMinutes(2));
+
+        advance(queued.delay());
+        assertThrows(LocalRateLimitException.class, () -> rateLimiter.confirm(queued));
+    }
+
+    @Test
+    void givenQueuedReservationCancelled_whenReleased_thenNextCallerTakesItsPlace() {
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.reserve();
+        }
+        List<AdaptiveRateLimiter.Reservation> queued = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(rateLimiter.reserve());
+        }
+
+        // Without the release the next window would be full and the caller's wait beyond max wait.
+        advance(Duration.ofSeconds(10));
+        rateLimiter.release(queued.get(3));
+
+        assertEquals(Duration.ofSeconds(20), rateLimiter.reserve().delay());
+        assertThrows(LocalRateLimitException.class, rateLimiter::reserve);
+    }
+
+    @Test
+    void givenReservationVoidedBy429_whenReleased_thenNoTokenIsGivenBack() {
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.reserve();
+        }
+        AdaptiveRateLimiter.Reservation queued = rateLimiter.reserve();
+
+        rateLimiter.onRateLimited(Duration.ofSeconds(5));
+        rateLimiter.release(queued);
+
+        assertEquals(Duration.ofSeconds(5), rateLimiter.reserve().delay());
+    }
+
+    private void advance(Duration duration) {
+        nanos += duration.toNanos();
+    }
+}
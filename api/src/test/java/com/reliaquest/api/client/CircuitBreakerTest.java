@@ -0,0 +1,143 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.config.UpstreamResilienceProperties;
+import java.net.URI;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+class CircuitBreakerTest {
+
+    private long nanos;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamResilienceProperties.CircuitBreaker properties = new UpstreamResilienceProperties.CircuitBreaker();
+        properties.setSlidingWindowSize(10);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(10));
+        properties.setHalfOpenProbes(2);
+
+        circuitBreaker = new CircuitBreaker(properties, () -> nanos);
+    }
+
+    @Test
+    void givenFailureRateBelowThreshold_whenCallsComplete_thenStaysClosed() {
+
+        call(false);
+        call(true);
+        call(false);
+        call(false);
+        call(true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void givenFailureRateAtThreshold_whenMinimumCallsReached_thenOpensAndRefusesCalls() {
+
+        call(true);
+        call(true);
+        call(false);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        call(false);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void givenOpenCircuit_whenOpenDurationElapsesAndProbesSucceed_thenCloses() {
+
+        open();
+        nanos += Duration.ofSeconds(10).toNanos();
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void givenHalfOpenCircuit_whenProbeFails_thenOpensAgain() {
+
+        open();
+        nanos += Duration.ofSeconds(10).toNanos();
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void givenHalfOpenCircuit_whenProbeIsIgnored_thenItsSlotIsFreed() {
+
+        open();
+        nanos += Duration.ofSeconds(10).toNanos();
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onIgnored();
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void givenUpstreamThrottling_whenItAnswers429_thenFilterCountsNeitherSuccessNorFailure() {
+
+        for (int i = 0; i < 10; i++) {
+            exchange(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        // The 429s did not fill the window with successes either, so four errors are still enough to open it.
+        for (int i = 0; i < 4; i++) {
+            exchange(HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void exchange(HttpStatus status) {
+        ClientRequest request =
+                ClientRequest.create(HttpMethod.GET, URI.create("http://localhost/api/v1/employee")).build();
+        new CircuitBreakerExchangeFilter(circuitBreaker)
+                .filter(request, ignored -> Mono.just(ClientResponse.create(status).build()))
+                .block();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void call(boolean failure) {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        if (failure) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.Status;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Checks the streaming decoder against Jackson data binding, which decoded the employee list before it.
+ */
+class EmployeeJsonDecoderTest {
+
+    private static final String FIXTURE = "/com/reliaquest/api/response/EmployeeResponse.json";
+
+    private final EmployeeJsonDecoder decoder = new EmployeeJsonDecoder();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final JavaType responseType = objectMapper
+            .getTypeFactory()
+            .constructParametricType(
+                    EmployeeResponse.class,
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+
+    @Test
+    void givenEmployeeList_whenDecoded_thenMatchesDataBinding() throws IOException {
+
+        EmployeeResponse<List<Employee>> expected;
+        try (InputStream in = getClass().getResourceAsStream(FIXTURE)) {
+            expected = objectMapper.readValue(in, responseType);
+        }
+
+        EmployeeResponse<List<Employee>> actual;
+        try (InputStream in = getClass().getResourceAsStream(FIXTURE)) {
+            actual = decoder.decode(in, EmployeeFields::toEmployee);
+        }
+
+        assertEquals(Status.HANDLED, actual.getStatus());
+        assertEquals(expected.getData(), actual.getData());
+    }
+
+    @Test
+    void givenNullsMissingFieldsAndUnknownFields_whenDecoded_thenMatchesDataBinding() throws IOException {
+
+        String json =
+                """
+                {
+                    "extra": {"nested": [1, {"id": "x"}]},
+                    "data": [
+                        {
+                            "id": "3A1301FD-43E0-4156-9D67-55CA362E2337",
+                            "employee_name": "Serina Pfannerstill",
+                            "employee_salary": null,
+                            "employee_title": "Dynamic Designer",
+                            "employee_rank": [3, 4]
+                        },
+                        {
+                            "id": "5ec1b7c1-44c1-4880-ac2c-f5042e77ec69",
+                            "employee_salary": "4200",
+                            "employee_age": 0,
+                            "employee_email": null
+                        },
+                        {}
+                    ],
+                    "status": "Successfully processed request."
+                }
+                """;
+
+        EmployeeResponse<List<Employee>> expected = objectMapper.readValue(json, responseType);
+        EmployeeResponse<List<Employee>> actual = decoder.decode(stream(json), EmployeeFields::toEmployee);
+
+        assertEquals(expected.getData(), actual.getData());
+        assertEquals(
+                UUID.fromString("3a1301fd-43e0-4156-9d67-55ca362e2337"),
+                actual.getData().get(0).getUuid());
+        assertNull(actual.getData().get(0).getEmployeeSalary());
+        assertNull(actual.getData().get(0).getEmployeeAge());
+        assertEquals(0, actual.getData().get(1).getEmployeeAge());
+    }
+
+    @Test
+    void givenErrorResponse_whenDecoded_thenCarriesStatusAndError() throws IOException {
+
+        EmployeeResponse<List<Employee>> response;
+        try (InputStream in = getClass().getResourceAsStream("/com/reliaquest/api/response/ErrorResponse.json")) {
+            response = decoder.decode(in, EmployeeFields::toEmployee);
+        }
+
+        assertNull(response.getData());
+        assertEquals(Status.ERROR, response.getStatus());
+        assertEquals("Exception occured while processing request, mock server api.", response.getError());
+    }
+
+    @Test
+    void givenMalformedEmployees_whenDecoded_thenThrows() {
+
+        assertThrows(
+                JsonParseException.class,
+                () -> decoder.decode(stream("{\"data\": {}}"), EmployeeFields::toEmployee));
+        assertThrows(
+                JsonParseException.class,
+                () -> decoder.decode(stream("{\"data\": [{\"id\": \"1-2-3-4-5\"}]}"), EmployeeFields::toEmployee));
+        assertThrows(
+                JsonParseException.class,
+                () -> decoder.decode(stream("{\"data\": [{\"employee_age\": 1.5}]}"), EmployeeFields::toEmployee));
+        assertThrows(
+                JsonParseException.class,
+                () -> decoder.decode(stream("{\"status\": \"Maybe\"}"), EmployeeFields::toEmployee));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.WireMockInitializer;
+import com.reliaquest.api.model.EmployeeCreation;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+/**
+ * Runs a bulk create that outlasts {@code spring.mvc.async.request-timeout}, shortened here from Tomcat's 30 s to one
+ * second, against a slow upstream, one create at a time.
+ *
+ * @author Kedar10
+ *
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        classes = ApiApplication.class,
+        properties = {"spring.mvc.async.request-timeout=1s", "emp.bulk.max-concurrency=1"})
+@ContextConfiguration(initializers = {WireMockInitializer.class})
+@AutoConfigureWebTestClient(timeout = "PT2M")
+public class EmployeeBulkControllerTimeoutTest {
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private String createEmployeeRequest;
+
+    private String employeeRegisterResponse;
+
+    private static final String EMPLOYEE_URL = "/api/v1/employee";
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private static final int ITEMS = 4;
+
+    private static final int UPSTREAM_DELAY_MILLIS = 500;
+
+    private static final String UTF_8 = "UTF-8";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+
+        createEmployeeRequest = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/request/CreateEmployeeRequest.json"),
+                Charset.forName(UTF_8));
+
+        employeeRegisterResponse = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/response/EmployeeRegisterResponse.json"),
+                Charset.forName(UTF_8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public void givenImportLongerThanAsyncRequestTimeout_whenBulkCreate_thenEveryItemIsReported(String accept) {
+
+        // Given
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(UPSTREAM_DELAY_MILLIS)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeRegisterResponse)));
+
+        String employeeInputs =
+                String.join("\n", Collections.nCopies(ITEMS, createEmployeeRequest.replaceAll("\\R\\s*", "")));
+
+        // When
+        List<EmployeeCreation> results = webTestClient
+                .post()
+                .uri("/api/v2/employees/bulk")
+                .header(CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .accept(MediaType.parseMediaType(accept))
+                .body(BodyInserters.fromValue(employeeInputs))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectHeader()
+                .contentTypeCompatibleWith(accept)
+                .returnResult(EmployeeCreation.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Then, after two seconds of upstream calls, twice the async request timeout
+        assertThat(results)
+                .hasSize(ITEMS)
+                .extracting(EmployeeCreation::getOutcome)
+                .containsOnly(EmployeeCreation.Outcome.CREATED);
+    }
+}
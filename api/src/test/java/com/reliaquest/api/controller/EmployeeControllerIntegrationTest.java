@@ -9,11 +9,17 @@ import com.github.tomakehurst.wiremock.client.WireMock;
 import com.reliaquest.api.ApiApplication;
 import com.reliaquest.api.WireMockInitializer;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeCreation;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.service.EmployeeSnapshotStore;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import org.apache.commons.io.FileUtils;
+import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -44,6 +50,9 @@ public class EmployeeControllerIntegrationTest {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private EmployeeSnapshotStore snapshotStore;
+
     private String createEmployeeRequest;
 
     private String createEmployeeInvalidRequest;
@@ -86,6 +95,9 @@ public class EmployeeControllerIntegrationTest {
     @BeforeEach
     public void setUp() throws IOException {
 
+        // Every test stubs its own upstream response, so none may be served from a snapshot loaded by another test.
+        snapshotStore.clear();
+
         // Request
         createEmployeeRequest = FileUtils.readFileToString(
                 new File("src/test/resources/com/reliaquest/api/request/CreateEmployeeRequest.json"),
@@ -145,6 +157,36 @@ public class EmployeeControllerIntegrationTest {
                 });
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public void testStreamEmployees(String mediaType) {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        List<Employee> employeeResult = webTestClient
+                .get()
+                .uri("/api/v2/employees")
+                .accept(MediaType.parseMediaType(mediaType))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectHeader()
+                .contentTypeCompatibleWith(mediaType)
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(employeeResult).withFailMessage(EMP_LIST_EMPTY_ERROR).isNotEmpty();
+
+        assertEquals(50, employeeResult.size());
+        assertEquals("Serina Pfannerstill", employeeResult.get(0).getEmployeeName());
+    }
+
     @Test
     public void testGetEmployeesWhenRateLimitThrownShouldReturn429() {
 
@@ -391,6 +433,187 @@ public class EmployeeControllerIntegrationTest {
                 });
     }
 
+    @Test
+    public void testCreateEmployeeIsPatchedIntoSnapshotWithoutReload() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeRegisterResponse)));
+
+        wireMockServer.resetRequests();
+
+        webTestClient.get().uri("/api/v2/employees").exchange().expectStatus().isEqualTo(HttpStatus.OK);
+
+        webTestClient
+                .post()
+                .uri("/api/v2/employees")
+                .header(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(BodyInserters.fromValue(createEmployeeRequest))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK);
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/search/{searchString}", "John Doe")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(new ParameterizedTypeReference<List<Employee>>() {})
+                .consumeWith(response -> assertThat(response.getResponseBody())
+                        .extracting(Employee::getEmployeeName)
+                        .containsExactly("John Doe"));
+
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL)));
+    }
+
+    @Test
+    public void testBulkCreateEmployeesShouldStreamResultsAndPatchSnapshotOnce() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeRegisterResponse)));
+
+        webTestClient.get().uri("/api/v2/employees").exchange().expectStatus().isEqualTo(HttpStatus.OK);
+
+        wireMockServer.resetRequests();
+        long patchCount = snapshotStore.getPatchCount();
+
+        String employeeInputs = String.join(
+                "\n",
+                createEmployeeRequest.replaceAll("\\R\\s*", ""),
+                createEmployeeInvalidRequest.replaceAll("\\R\\s*", ""),
+                createEmployeeRequest.replaceAll("\\R\\s*", ""));
+
+        List<EmployeeCreation> results = webTestClient
+                .post()
+                .uri("/api/v2/employees/bulk")
+                .header(CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromValue(employeeInputs))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .returnResult(EmployeeCreation.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(results)
+                .extracting(EmployeeCreation::getIndex, EmployeeCreation::getOutcome)
+                .containsExactlyInAnyOrder(
+                        Tuple.tuple(0L, EmployeeCreation.Outcome.CREATED),
+                        Tuple.tuple(1L, EmployeeCreation.Outcome.INVALID),
+                        Tuple.tuple(2L, EmployeeCreation.Outcome.CREATED));
+
+        // Invalid items never reach the upstream, and all creates land in the snapshot as a single patch
+        wireMockServer.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL)));
+        assertEquals(patchCount + 1, snapshotStore.getPatchCount());
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/search/{searchString}", "John Doe")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(new ParameterizedTypeReference<List<Employee>>() {})
+                .consumeWith(response -> assertThat(response.getResponseBody())
+                        .extracting(Employee::getEmployeeName)
+                        .containsExactly("John Doe"));
+
+        wireMockServer.verify(0, WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL)));
+    }
+
+    @Test
+    public void testGetEmployeesWithCurrentETagShouldReturn304UntilSnapshotChanges() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeRegisterResponse)));
+
+        // The first request loads the snapshot, so only later responses carry its tag.
+        webTestClient.get().uri("/api/v2/employees").exchange().expectStatus().isEqualTo(HttpStatus.OK);
+
+        String eTag = webTestClient
+                .get()
+                .uri("/api/v2/employees")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertNotNull(eTag);
+
+        for (String uri : List.of(
+                "/api/v2/employees",
+                "/api/v2/employees/search/" + EMPLOYEE_NAME,
+                "/api/v2/employees/highestSalary",
+                "/api/v2/employees/topTenHighestEarningEmployeeNames")) {
+            webTestClient
+                    .get()
+                    .uri(uri)
+                    .ifNoneMatch(eTag)
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.NOT_MODIFIED)
+                    .expectHeader()
+                    .valueEquals("ETag", eTag)
+                    .expectBody()
+                    .isEmpty();
+        }
+
+        webTestClient
+                .post()
+                .uri("/api/v2/employees")
+                .header(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(BodyInserters.fromValue(createEmployeeRequest))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK);
+
+        String patchedETag = webTestClient
+                .get()
+                .uri("/api/v2/employees")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(new ParameterizedTypeReference<List<Employee>>() {})
+                .consumeWith(response -> assertEquals(51, response.getResponseBody().size()))
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertThat(patchedETag).isNotNull().isNotEqualTo(eTag);
+    }
+
     @Test
     public void testCreateEmployeeValidationError() {
 
@@ -439,4 +662,112 @@ public class EmployeeControllerIntegrationTest {
                     assertEquals("Dr. Lindsy Anderson", employeeName);
                 });
     }
+
+    @Test
+    public void testGetEmployeesBySalaryRankTop() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/salaryRanking?k=3&direction=top")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(new ParameterizedTypeReference<List<Employee>>() {})
+                .consumeWith(response -> assertThat(response.getResponseBody())
+                        .extracting(Employee::getEmployeeName)
+                        .containsExactly("Theo Cruickshank Sr.", "Clemmie White", "Ashlie Erdman"));
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRankBottomWithinTitle() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/salaryRanking?k=5&direction=bottom&title={title}", "construction consultant")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(new ParameterizedTypeReference<List<Employee>>() {})
+                .consumeWith(response -> assertThat(response.getResponseBody())
+                        .extracting(Employee::getEmployeeName)
+                        .containsExactly("Harland Rice MD"));
+    }
+
+    @Test
+    public void testGetEmployeesBySalaryRankWithInvalidKShouldReturn400() {
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/salaryRanking?k=0")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo("k must be between 1 and 1000");
+    }
+
+    @Test
+    public void testGetEmployeePages() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        List<Employee> employeeResult = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            Optional<String> pageCursor = Optional.ofNullable(cursor);
+
+            EmployeePage page = webTestClient
+                    .get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/api/v2/employees/page")
+                            .queryParam("limit", 20)
+                            .queryParamIfPresent("cursor", pageCursor)
+                            .build())
+                    .exchange()
+                    .expectStatus()
+                    .isEqualTo(HttpStatus.OK)
+                    .expectBody(EmployeePage.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertNotNull(page, EMP_RESP_NULL_ERROR);
+            employeeResult.addAll(page.getData());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(50, employeeResult.size());
+        assertEquals(50, employeeResult.stream().map(Employee::getUuid).distinct().count());
+    }
+
+    @Test
+    public void testGetEmployeePageWithInvalidCursorShouldReturn400() {
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/page?cursor=invalid")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+    }
 }
@@ -0,0 +1,209 @@
+package com.reliaquest.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.WireMockInitializer;
+import com.reliaquest.api.model.Employee;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+/**
+ * Runs the api in its reactive serving mode (WebFlux on Netty) against the same WireMock stubs as
+ * {@link EmployeeControllerIntegrationTest}.
+ *
+ * @author Kedar10
+ *
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, classes = ApiApplication.class)
+@ContextConfiguration(initializers = {WireMockInitializer.class})
+@AutoConfigureWebTestClient(timeout = "PT2M")
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerIntegrationTest {
+
+    @Autowired
+    private WireMockServer wireMockServer;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    private String createEmployeeInvalidRequest;
+
+    private String employeeResponse;
+
+    private String employeeSearchByIdResponse;
+
+    private String employeeDeletionResponse;
+
+    private static final String EMPLOYEE_URL = "/api/v1/employee";
+
+    private static final String EMPLOYEE_URL_ID_PARAM = "/api/v1/employee/[a-z0-9\\-]+";
+
+    private static final String EMPLOYEE_ID = "9a55c532-7457-4fe3-a8f4-6ea8a957bdb3";
+
+    private static final String CONTENT_TYPE = "Content-Type";
+
+    private static final String UTF_8 = "UTF-8";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+
+        createEmployeeInvalidRequest = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/request/CreateEmployeeInvalidRequest.json"),
+                Charset.forName(UTF_8));
+
+        employeeResponse = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/response/EmployeeResponse.json"),
+                Charset.forName(UTF_8));
+
+        employeeSearchByIdResponse = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/response/EmployeeSearchByIdResponse.json"),
+                Charset.forName(UTF_8));
+
+        employeeDeletionResponse = FileUtils.readFileToString(
+                new File("src/test/resources/com/reliaquest/api/response/EmployeeDeletionResponse.json"),
+                Charset.forName(UTF_8));
+    }
+
+    @Test
+    public void testReactiveControllerIsTheOnlyEmployeeController() {
+
+        assertThat(applicationContext.getBeansOfType(ReactiveEmployeeController.class)).hasSize(1);
+        assertThat(applicationContext.getBeansOfType(EmployeeController.class)).isEmpty();
+    }
+
+    @Test
+    public void testGetEmployees() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(new ParameterizedTypeReference<List<Employee>>() {})
+                .consumeWith(response -> assertEquals(50, response.getResponseBody().size()));
+    }
+
+    @Test
+    public void testGetEmployeesWithCurrentETagShouldReturn304() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        // Makes sure a snapshot is loaded, so the next response carries its tag.
+        webTestClient.get().uri("/api/v2/employees").exchange().expectStatus().isEqualTo(HttpStatus.OK);
+
+        String eTag = webTestClient
+                .get()
+                .uri("/api/v2/employees/highestSalary")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        assertThat(eTag).isNotNull();
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.NOT_MODIFIED)
+                .expectBody()
+                .isEmpty();
+    }
+
+    @Test
+    public void testGetEmployeeByIdWhenNotFoundShouldReturn404() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathMatching(EMPLOYEE_URL_ID_PARAM))
+                .willReturn(WireMock.aResponse().withStatus(404)));
+
+        webTestClient
+                .get()
+                .uri("/api/v2/employees/{id}", EMPLOYEE_ID)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.NOT_FOUND)
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo("Employee with id: " + EMPLOYEE_ID + " not found");
+    }
+
+    @Test
+    public void testCreateEmployeeWithInvalidRequestShouldReturn400() {
+
+        webTestClient
+                .post()
+                .uri("/api/v2/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromValue(createEmployeeInvalidRequest))
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody()
+                .jsonPath("$.errors")
+                .isNotEmpty();
+    }
+
+    @Test
+    public void testDeleteEmployeeById() {
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlPathMatching(EMPLOYEE_URL_ID_PARAM))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeSearchByIdResponse)));
+
+        wireMockServer.stubFor(WireMock.delete(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeDeletionResponse)));
+
+        webTestClient
+                .delete()
+                .uri("/api/v2/employees/{id}", EMPLOYEE_ID)
+                .exchange()
+                .expectStatus()
+                .isEqualTo(HttpStatus.OK)
+                .expectBody(String.class)
+                .isEqualTo("Dr. Lindsy Anderson");
+    }
+}
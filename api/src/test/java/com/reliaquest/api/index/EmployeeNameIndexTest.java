@@ -0,0 +1,84 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that patched indexes, which share their buffers with the index they were derived from, answer like indexes
+ * built from scratch, and leave that index as it was.
+ */
+class EmployeeNameIndexTest {
+
+    private final Random random = new Random(5);
+
+    @Test
+    void givenTwoPatchesOfOneIndex_whenSearching_thenEachSeesOnlyItsOwnChange() {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        EmployeeTable table = EmployeeTable.of(employees);
+        EmployeeNameIndex index = new EmployeeNameIndex(table);
+
+        Employee first = employee("Zed First");
+        Employee second = employee("Zed Second");
+        EmployeeTable withFirst = table.withAdded(first);
+        EmployeeNameIndex firstIndex = index.withAdded(withFirst);
+        EmployeeNameIndex secondIndex = index.withAdded(table.withAdded(second));
+        EmployeeNameIndex firstWithoutThird = firstIndex.withRemoved(withFirst.withRemoved(3), 3);
+
+        assertEquals(List.of(first), firstIndex.search("zed"));
+        assertEquals(List.of(second), secondIndex.search("zed"));
+        assertEquals(List.of(), index.search("zed"));
+        assertEquals(List.of(employees.get(3)), firstIndex.search("employee 3"));
+        assertEquals(List.of(), firstWithoutThird.search("employee 3"));
+        assertEquals(List.of(first), firstWithoutThird.search("zed"));
+    }
+
+    @Test
+    void givenManyDeletesBetweenCreates_whenSearching_thenMatchesRebuiltIndex() {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        EmployeeTable table = EmployeeTable.of(employees);
+        EmployeeNameIndex index = new EmployeeNameIndex(table);
+
+        // Deletes outnumber creates, so tombstones pile up until the index drops them in a rebuild.
+        for (int step = 0; step < 300; step++) {
+
+            if (step % 3 == 0) {
+                Employee added = employee("Employee " + (400 + step));
+                employees.add(added);
+                table = table.withAdded(added);
+                index = index.withAdded(table);
+            } else {
+                int position = random.nextInt(employees.size());
+                employees.remove(position);
+                table = table.withRemoved(position);
+                index = index.withRemoved(table, position);
+            }
+
+            EmployeeNameIndex rebuilt = new EmployeeNameIndex(EmployeeTable.of(employees));
+            for (String query : List.of("employee 1", "ee 5", "4", "e.*7")) {
+                assertEquals(rebuilt.search(query), index.search(query), query);
+            }
+        }
+    }
+
+    private static Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        return employee;
+    }
+}
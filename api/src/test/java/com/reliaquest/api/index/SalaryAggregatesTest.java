@@ -0,0 +1,79 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the incrementally maintained aggregates against the full sort the endpoints used to perform.
+ */
+class SalaryAggregatesTest {
+
+    private final Random random = new Random(7);
+
+    @Test
+    void givenRandomCreatesAndDeletes_whenMaintainedIncrementally_thenMatchesFullSort() {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(employee());
+        }
+
+        EmployeeTable table = EmployeeTable.of(employees);
+        SalaryAggregates aggregates = SalaryAggregates.of(table);
+
+        for (int step = 0; step < 2000; step++) {
+
+            if (employees.size() > 1 && random.nextBoolean()) {
+                // Bias deletes towards top earners, which is where the headroom gets used up.
+                Employee removed = random.nextInt(3) == 0
+                        ? employees.get(random.nextInt(employees.size()))
+                        : employees.stream()
+                                .max(Comparator.comparingInt(Employee::getEmployeeSalary))
+                                .orElseThrow();
+                int position = employees.indexOf(removed);
+                employees.remove(position);
+                table = table.withRemoved(position);
+                aggregates = aggregates.withRemoved(table, position);
+            } else {
+                Employee added = employee();
+                employees.add(added);
+                table = table.withAdded(added);
+                aggregates = aggregates.withAdded(table);
+            }
+
+            assertEquals(topTenBySort(employees), aggregates.getTopEarnerNames());
+            assertEquals(
+                    employees.stream()
+                            .mapToInt(Employee::getEmployeeSalary)
+                            .max()
+                            .getAsInt(),
+                    aggregates.getHighestSalary());
+        }
+    }
+
+    private static List<String> topTenBySort(List<Employee> employees) {
+        return employees.stream()
+                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(Employee::getEmployeeName)
+                .collect(Collectors.toList());
+    }
+
+    private Employee employee() {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName("Employee " + employee.getUuid());
+        // A narrow range so that equal salaries, and therefore tie ordering, are exercised.
+        employee.setEmployeeSalary(random.nextInt(100));
+        return employee;
+    }
+}
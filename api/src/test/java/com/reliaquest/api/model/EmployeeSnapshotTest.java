@@ -0,0 +1,119 @@
+package com.reliaquest.api.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks snapshots patched create by create, delete by delete and batch by batch against snapshots rebuilt from the
+ * same list.
+ */
+class EmployeeSnapshotTest {
+
+    private static final String[] NAME_PARTS = {"Ann", "Anna", "Hanna", "Jo", "John", "Johnson", "Sonny", "Ch"};
+
+    private static final List<String> QUERIES = List.of("ann", "anna", "son", "john", "jo", "h", "ch", "nny", "a.n");
+
+    private final Random random = new Random(11);
+
+    @Test
+    void givenRandomCreatesAndDeletes_whenPatched_thenMatchesRebuiltSnapshot() {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(employee());
+        }
+
+        EmployeeSnapshot patched = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        for (int step = 0; step < 500; step++) {
+
+            if (employees.size() > 1 && random.nextBoolean()) {
+                Employee removed = employees.remove(random.nextInt(employees.size()));
+                patched = patched.withRemoved(step + 2, removed);
+            } else {
+                Employee added = employee();
+                employees.add(added);
+                patched = patched.withAdded(step + 2, added);
+            }
+
+            EmployeeSnapshot rebuilt = new EmployeeSnapshot(step + 2, patched.getLoadedAt(), employees);
+
+            assertEquals(rebuilt.getEmployees(), patched.getEmployees());
+            for (String query : QUERIES) {
+                assertEquals(rebuilt.searchByName(query), patched.searchByName(query), query);
+            }
+            for (int i = 0; i < employees.size(); i++) {
+                assertEquals(i, patched.indexOf(employees.get(i).getUuid()));
+            }
+            assertEquals(
+                    rebuilt.getSalaryAggregates().getTopEarnerNames(),
+                    patched.getSalaryAggregates().getTopEarnerNames());
+        }
+    }
+
+    @Test
+    void givenKnownOrUnknownEmployee_whenPatchIsRedundant_thenSnapshotIsUnchanged() {
+
+        List<Employee> employees = List.of(employee(), employee());
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        assertSame(snapshot, snapshot.withAdded(2, employees.get(0)));
+        assertSame(snapshot, snapshot.withRemoved(2, employee()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 40})
+    void givenBatchWithKnownAndRepeatedEmployees_whenAddedAll_thenMatchesRebuiltSnapshot(int batchSize) {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(employee());
+        }
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, Instant.now(), employees);
+
+        // A delete first, so the batch lands behind a removed employee in the name index.
+        snapshot = snapshot.withRemoved(1, employees.remove(20));
+
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(employee());
+        }
+        List<Employee> expected = new ArrayList<>(employees);
+        expected.addAll(batch);
+
+        // Already in the snapshot, or twice in the batch: added once at most
+        batch.add(employees.get(7));
+        batch.add(batch.get(0));
+
+        EmployeeSnapshot patched = snapshot.withAddedAll(2, batch);
+        EmployeeSnapshot rebuilt = new EmployeeSnapshot(2, snapshot.getLoadedAt(), expected);
+
+        assertEquals(2, patched.getVersion());
+        assertEquals(rebuilt.getEmployees(), patched.getEmployees());
+        for (String query : QUERIES) {
+            assertEquals(rebuilt.searchByName(query), patched.searchByName(query), query);
+        }
+        assertEquals(
+                rebuilt.getSalaryAggregates().getTopEarnerNames(),
+                patched.getSalaryAggregates().getTopEarnerNames());
+        assertSame(patched, patched.withAddedAll(3, batch));
+    }
+
+    private Employee employee() {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName(NAME_PARTS[random.nextInt(NAME_PARTS.length)] + " "
+                + NAME_PARTS[random.nextInt(NAME_PARTS.length)]);
+        employee.setEmployeeSalary(random.nextInt(1000));
+        return employee;
+    }
+}
@@ -2,7 +2,10 @@ package com.reliaquest.api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -11,16 +14,35 @@ import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.reliaquest.api.ApiApplication;
 import com.reliaquest.api.WireMockInitializer;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
 import com.reliaquest.api.exception.EmployeeAPIClientException;
 import com.reliaquest.api.exception.EmployeeAPIServerException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeRateLimitException;
+import com.reliaquest.api.metrics.EmployeeMetrics;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeCreation;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeePageCursor;
 import com.reliaquest.api.model.EmployeeRegister;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
 import java.io.File;
 import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -32,7 +54,9 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -49,9 +73,16 @@ class EmployeeServiceIntegrationTest {
     @InjectMocks
     private static EmployeeService employeeService;
 
+    private EmployeeSnapshotStore snapshotStore;
+
+    private MeterRegistry meterRegistry;
+
     @Autowired
     private WireMockServer wireMockServer;
 
+    @Autowired
+    private Validator validator;
+
     private String employeeDeletionRequest;
 
     private String employeeResponse;
@@ -74,18 +105,38 @@ class EmployeeServiceIntegrationTest {
 
     private static final String EMPLOYEE_ID = "9a55c532-7457-4fe3-a8f4-6ea8a957bdb3";
 
+    private static final String SNAPSHOT_EMPLOYEE_ID = "3a1301fd-43e0-4156-9d67-55ca362e2337";
+
+    private static final String UNKNOWN_EMPLOYEE_ID = "00000000-0000-0000-0000-000000000000";
+
     private static final String EMPLOYEE_NAME = "Winfred";
 
     private static final String EMPLOYEE_NAME_CHAR = "H";
 
     private static final String CONTENT_TYPE = "Content-Type";
 
+    private static final int CONCURRENT_CALLERS = 25;
+
+    private static final String CALLER_HEADER = "X-Caller";
+
+    private static final String CALLER = "EmployeeServiceIntegrationTest";
+
     private static final String UTF_8 = "UTF-8";
 
     @BeforeEach
     void setUp() throws Exception {
 
-        employeeService = new EmployeeService(buildWebClient());
+        snapshotStore = new EmployeeSnapshotStore();
+
+        meterRegistry = new SimpleMeterRegistry();
+
+        employeeService = new EmployeeService(
+                buildWebClient(),
+                snapshotStore,
+                new EmployeeCacheProperties(),
+                new EmployeeMetrics(meterRegistry, snapshotStore),
+                new EmployeeBulkProperties(),
+                validator);
 
         objectMapper = new ObjectMapper();
 
@@ -137,6 +188,226 @@ class EmployeeServiceIntegrationTest {
         assertEquals(50, employees.size());
     }
 
+    // Metrics
+    @Test
+    public void givenEmployees_whenGetEmployeeInfoTwice_thenOneTimedUpstreamCallAndOneSnapshotHit() {
+
+        // When
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        employeeService.getEmployeeInfo();
+        employeeService.getEmployeeInfo();
+
+        // Then
+        Timer listTimer = meterRegistry
+                .get("employee.upstream.requests")
+                .tag("operation", EmployeeMetrics.LIST)
+                .tag("outcome", "success")
+                .timer();
+
+        assertEquals(1, listTimer.count());
+        assertEquals(1, meterRegistry.get("employee.snapshot.gets").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("employee.snapshot.gets").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("employee.snapshot.swaps").functionCounter().count());
+    }
+
+    // List size limit
+    @Test
+    public void givenListLargerThanMaxListSize_whenGetEmployeeInfo_thenStatus500() {
+
+        // Given
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        cacheProperties.setMaxListSize(DataSize.ofKilobytes(4));
+
+        EmployeeService limitedService = new EmployeeService(
+                buildWebClient(),
+                snapshotStore,
+                cacheProperties,
+                new EmployeeMetrics(meterRegistry, snapshotStore),
+                new EmployeeBulkProperties(),
+                validator);
+
+        // When
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        EmployeeAPIServerException serverException =
+                assertThrows(EmployeeAPIServerException.class, limitedService::getEmployeeInfo);
+
+        // Then
+        assertTrue(serverException.getMessage().contains("emp.cache.max-list-size"));
+        assertNull(snapshotStore.get());
+    }
+
+    // Stale-while-revalidate
+    @Test
+    public void givenLoadedSnapshot_whenRefreshFails_thenPreviousSnapshotIsServed() {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        List<Employee> loaded = employeeService.getEmployeeInfo();
+
+        // When
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse().withStatus(500)));
+
+        snapshotStore.markStale();
+        employeeService.refreshSnapshot();
+
+        // Then
+        assertEquals(loaded, employeeService.getEmployeeInfo());
+    }
+
+    // Conditional reload
+    @Test
+    public void givenUnchangedUpstreamList_whenRefresh_thenSnapshotIsRevalidatedWithoutReload() {
+
+        // Given
+        String upstreamETag = "\"upstream-1\"";
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader("ETag", upstreamETag)
+                        .withBody(employeeResponse)));
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .atPriority(1)
+                .withHeader("If-None-Match", WireMock.equalTo(upstreamETag))
+                .willReturn(WireMock.aResponse().withStatus(304).withHeader("ETag", upstreamETag)));
+
+        wireMockServer.resetRequests();
+
+        List<Employee> loaded = employeeService.getEmployeeInfo();
+        EmployeeSnapshot snapshot = snapshotStore.get();
+
+        // When
+        snapshotStore.markStale();
+        employeeService.refreshSnapshot();
+
+        // Then
+        EmployeeSnapshot revalidated = snapshotStore.get();
+
+        assertEquals(snapshot.getVersion(), revalidated.getVersion());
+        assertSame(loaded, revalidated.getEmployees());
+        assertThat(revalidated.getLoadedAt()).isAfterOrEqualTo(snapshot.getLoadedAt());
+        assertEquals(1, meterRegistry.get("employee.snapshot.revalidations").functionCounter().count());
+        assertEquals(1, meterRegistry.get("employee.snapshot.swaps").functionCounter().count());
+
+        wireMockServer.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL)));
+        wireMockServer.verify(
+                1,
+                WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL))
+                        .withHeader("If-None-Match", WireMock.equalTo(upstreamETag)));
+    }
+
+    @Test
+    public void givenStoreClearedDuringConditionalReload_whenUpstreamAnswers304_thenListIsFetchedInFull()
+            throws Exception {
+
+        // Given
+        String upstreamETag = "\"upstream-1\"";
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withHeader("ETag", upstreamETag)
+                        .withBody(employeeResponse)));
+
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .atPriority(1)
+                .withHeader("If-None-Match", WireMock.equalTo(upstreamETag))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(304)
+                        .withHeader("ETag", upstreamETag)
+                        .withFixedDelay(500)));
+
+        wireMockServer.resetRequests();
+
+        List<Employee> loaded = employeeService.getEmployeeInfo();
+
+        // When: the store is cleared while the conditional reload waits for its 304
+        snapshotStore.markStale();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> refresh = executor.submit(employeeService::refreshSnapshot);
+        Thread.sleep(200);
+        snapshotStore.clear();
+        refresh.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        EmployeeSnapshot reloaded = snapshotStore.get();
+
+        assertNotNull(reloaded);
+        assertEquals(loaded, reloaded.getEmployees());
+        assertEquals(upstreamETag, snapshotStore.getUpstreamETag());
+        assertFalse(snapshotStore.isStale());
+
+        wireMockServer.verify(3, WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL)));
+    }
+
+    // Single-flight loading
+    @Test
+    public void givenConcurrentSnapshotMisses_whenGetEmployeeInfo_thenOneUpstreamCallPerMissWave() throws Exception {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(500)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        wireMockServer.resetRequests();
+
+        for (int wave = 1; wave <= 2; wave++) {
+
+            // When
+            snapshotStore.clear();
+
+            List<List<Employee>> results = runConcurrently(CONCURRENT_CALLERS, employeeService::getEmployeeInfo);
+
+            // Then
+            wireMockServer.verify(wave, WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL))
+                    .withHeader(CALLER_HEADER, WireMock.equalTo(CALLER)));
+            assertEquals(CONCURRENT_CALLERS, results.size());
+            results.forEach(employees -> assertSame(results.get(0), employees));
+        }
+    }
+
+    @Test
+    public void givenConcurrentSnapshotMisses_whenUpstreamFails_thenAllCallersShareTheError() throws Exception {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse().withStatus(500).withFixedDelay(500)));
+
+        wireMockServer.resetRequests();
+
+        // When
+        List<Throwable> errors = runConcurrently(CONCURRENT_CALLERS, () -> assertThrows(
+                EmployeeAPIServerException.class, () -> employeeService.getEmployeeInfo()));
+
+        // Then
+        wireMockServer.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .withHeader(CALLER_HEADER, WireMock.equalTo(CALLER)));
+        errors.forEach(error -> assertSame(errors.get(0), error));
+    }
+
     // Rate Limit Exception
     @Test
     public void givenEmployeeRateLimitException_whenGetEmployeeInfo_thenStatus429() {
@@ -356,6 +627,117 @@ class EmployeeServiceIntegrationTest {
                 .verify();
     }
 
+    @Test
+    public void givenLoadedSnapshot_whenGetEmployeeInfoById_thenServedFromSnapshot() {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        employeeService.getEmployeeInfo();
+
+        wireMockServer.resetRequests();
+
+        // When
+        Mono<Employee> employeeInfoById = employeeService.getEmployeeInfoById(SNAPSHOT_EMPLOYEE_ID);
+
+        // Then
+        StepVerifier.create(employeeInfoById)
+                .consumeNextWith(response -> assertThat(response.getEmployeeName()).isEqualTo("Serina Pfannerstill"))
+                .verifyComplete();
+
+        wireMockServer.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching(EMPLOYEE_URL_ID_PARAM))
+                .withHeader(CALLER_HEADER, WireMock.equalTo(CALLER)));
+    }
+
+    @Test
+    public void givenFreshSnapshot_whenGetEmployeeInfoByUnknownId_thenStatus404WithoutUpstreamCall() {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        employeeService.getEmployeeInfo();
+
+        wireMockServer.resetRequests();
+
+        // When
+        Mono<Employee> employeeInfoById = employeeService.getEmployeeInfoById(UNKNOWN_EMPLOYEE_ID);
+
+        // Then
+        StepVerifier.create(employeeInfoById)
+                .expectError(EmployeeNotFoundException.class)
+                .verify();
+
+        wireMockServer.verify(0, WireMock.getRequestedFor(WireMock.urlPathMatching(EMPLOYEE_URL_ID_PARAM))
+                .withHeader(CALLER_HEADER, WireMock.equalTo(CALLER)));
+    }
+
+    // Cursor pagination
+    @Test
+    public void givenEmployees_whenGetEmployeePageAcrossSnapshotRefresh_thenResumesAfterLastEmployee() {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        List<Employee> loaded = employeeService.getEmployeeInfo();
+
+        EmployeePage firstPage = employeeService.getEmployeePage(20, null).block();
+
+        // When: employees before the cursor are removed and one is appended by a refresh
+        List<Employee> refreshed = new ArrayList<>(loaded.subList(5, loaded.size()));
+        refreshed.add(loaded.get(0));
+        snapshotStore.replace(refreshed);
+
+        EmployeePage secondPage = employeeService.getEmployeePage(20, firstPage.getNextCursor()).block();
+        EmployeePage lastPage = employeeService.getEmployeePage(20, secondPage.getNextCursor()).block();
+
+        // Then
+        assertEquals(loaded.subList(0, 20), firstPage.getData());
+        assertEquals(loaded.subList(20, 40), secondPage.getData());
+        assertEquals(refreshed.subList(35, 46), lastPage.getData());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    public void givenCursorFromEarlierProcessWithSameVersion_whenGetEmployeePage_thenResumesAfterLastEmployee() {
+
+        // Given
+        wireMockServer.stubFor(WireMock.get(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withBody(employeeResponse)));
+
+        List<Employee> loaded = employeeService.getEmployeeInfo();
+        long version = snapshotStore.get().getVersion();
+
+        // When: the version matches, but the recorded position belongs to another process's snapshot
+        String cursor = new EmployeePageCursor("earlier", version, 5, loaded.get(9).getUuid()).encode();
+        EmployeePage page = employeeService.getEmployeePage(5, cursor).block();
+
+        // Then
+        assertEquals(loaded.subList(10, 15), page.getData());
+    }
+
+    @Test
+    public void givenMalformedCursor_whenGetEmployeePage_thenStatus400() {
+
+        StepVerifier.create(employeeService.getEmployeePage(20, "not a cursor"))
+                .expectError(EmployeeAPIClientException.class)
+                .verify();
+    }
+
     @Test
     public void givenEmployees_whenGetHighestSalaryOfEmployees_thenStatus200() {
 
@@ -452,6 +834,38 @@ class EmployeeServiceIntegrationTest {
                 .verify();
     }
 
+    @Test
+    public void givenUpstream429_whenCreateEmployees_thenEachItemIsPostedOncePerBulkResubmission() {
+
+        // Given
+        EmployeeBulkProperties bulkProperties = new EmployeeBulkProperties();
+        bulkProperties.setRateLimitRetries(2);
+        bulkProperties.setRateLimitBackoff(Duration.ofMillis(50));
+
+        EmployeeService bulkService = new EmployeeService(
+                buildWebClient(),
+                snapshotStore,
+                new EmployeeCacheProperties(),
+                new EmployeeMetrics(meterRegistry, snapshotStore),
+                bulkProperties,
+                validator);
+
+        // When
+        wireMockServer.stubFor(WireMock.post(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .willReturn(WireMock.aResponse().withStatus(429)));
+        wireMockServer.resetRequests();
+
+        List<EmployeeCreation> creations =
+                bulkService.createEmployees(Flux.just(employeeRegister)).collectList().block();
+
+        // Then
+        assertEquals(1, creations.size());
+        assertEquals(EmployeeCreation.Outcome.FAILED, creations.get(0).getOutcome());
+        // No single-create backoff inside the resubmissions: one post and two resubmissions.
+        wireMockServer.verify(3, WireMock.postRequestedFor(WireMock.urlEqualTo(EMPLOYEE_URL))
+                .withHeader(CALLER_HEADER, WireMock.equalTo(CALLER)));
+    }
+
     @Test
     public void givenEmployees_whenCreateEmployee_thenStatus500WithErrorResponse() {
 
@@ -609,9 +1023,39 @@ class EmployeeServiceIntegrationTest {
                 .verify();
     }
 
+    private static <T> List<T> runConcurrently(int callers, Callable<T> call) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     private WebClient buildWebClient() {
+        // Tagged so that upstream calls made by this test's service can be told apart from those of the application
+        // context sharing the same WireMock server.
         return WebClient.builder()
                 .baseUrl("http://localhost:" + wireMockServer.port() + "/api/v1")
+                .defaultHeader(CALLER_HEADER, CALLER)
                 .build();
     }
 }
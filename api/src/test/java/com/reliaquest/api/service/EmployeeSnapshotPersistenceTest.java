@@ -0,0 +1,72 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Saves a snapshot from one store and restores it into the store of a restarted api.
+ */
+class EmployeeSnapshotPersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenSavedSnapshot_whenRestarted_thenRestoresEmployeesLoadTimeAndUpstreamETag() {
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        cacheProperties.setSnapshotFile(directory.resolve("employees.bin"));
+
+        EmployeeSnapshotStore snapshotStore = new EmployeeSnapshotStore();
+        List<Employee> employees = List.of(employee("Ada"), employee("Grace"));
+        EmployeeSnapshot loaded = snapshotStore.replace(employees, 0, "\"upstream-3\"");
+        new EmployeeSnapshotPersistence(snapshotStore, cacheProperties).saveIfReloaded();
+
+        // When: a new process starts on the saved file
+        EmployeeSnapshotStore restartedStore = new EmployeeSnapshotStore();
+        new EmployeeSnapshotPersistence(restartedStore, cacheProperties).restore();
+
+        // Then
+        EmployeeSnapshot restored = restartedStore.get();
+        assertEquals(employees, restored.getEmployees());
+        assertEquals(loaded.getLoadedAt().toEpochMilli(), restored.getLoadedAt().toEpochMilli());
+        assertEquals("\"upstream-3\"", restartedStore.getUpstreamETag());
+        assertEquals(1, restored.indexOf(employees.get(1).getUuid()));
+    }
+
+    @Test
+    void givenUnreadableFile_whenRestarted_thenStartsEmpty() throws IOException {
+
+        EmployeeCacheProperties cacheProperties = new EmployeeCacheProperties();
+        cacheProperties.setSnapshotFile(Files.writeString(directory.resolve("employees.bin"), "not a snapshot"));
+
+        EmployeeSnapshotStore snapshotStore = new EmployeeSnapshotStore();
+        EmployeeSnapshotPersistence persistence = new EmployeeSnapshotPersistence(snapshotStore, cacheProperties);
+        persistence.restore();
+
+        assertNull(snapshotStore.get());
+
+        // Nothing was loaded, so nothing is saved over the file either
+        persistence.saveIfReloaded();
+        assertEquals("not a snapshot", Files.readString(cacheProperties.getSnapshotFile()));
+    }
+
+    private static Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(100);
+        return employee;
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotStoreTest {
+
+    private final EmployeeSnapshotStore snapshotStore = new EmployeeSnapshotStore();
+
+    @Test
+    void givenWritesDuringReload_whenReloadLandsWithoutThem_thenWritesAreReapplied() {
+
+        Employee kept = employee("Kept");
+        Employee deleted = employee("Deleted");
+        Employee created = employee("Created");
+
+        snapshotStore.replace(List.of(kept, deleted));
+
+        // When: a reload starts, then a create and a delete are confirmed before it lands with the old list
+        long baseVersion = snapshotStore.currentVersion();
+        snapshotStore.applyCreated(created);
+        snapshotStore.applyDeleted(deleted);
+        snapshotStore.replace(List.of(kept, deleted), baseVersion);
+
+        // Then
+        assertEquals(List.of(kept, created), snapshotStore.get().getEmployees());
+    }
+
+    @Test
+    void givenOffHeapStore_whenWritesDuringReload_thenWritesAreReappliedOffHeap() {
+
+        EmployeeSnapshotStore offHeapStore = new EmployeeSnapshotStore(true);
+        Employee kept = employee("Kept");
+        Employee deleted = employee("Deleted");
+        Employee created = employee("Created");
+
+        offHeapStore.replace(List.of(kept, deleted));
+        long baseVersion = offHeapStore.currentVersion();
+        offHeapStore.applyCreated(created);
+        offHeapStore.applyDeleted(deleted);
+        offHeapStore.replace(List.of(kept, deleted), baseVersion);
+
+        assertEquals(List.of(kept, created), offHeapStore.get().getEmployees());
+        assertEquals(1, offHeapStore.get().indexOf(created.getUuid()));
+        assertTrue(EmployeeTable.offHeapBytes() > 0);
+    }
+
+    @Test
+    void givenWritesBeforeReload_whenReloadLands_thenReloadedListIsKept() {
+
+        Employee kept = employee("Kept");
+        Employee created = employee("Created");
+
+        snapshotStore.replace(List.of(kept));
+        snapshotStore.applyCreated(created);
+
+        // When: the reload starts after the create, so its list already reflects it
+        snapshotStore.replace(List.of(kept), snapshotStore.currentVersion());
+
+        // Then
+        assertEquals(List.of(kept), snapshotStore.get().getEmployees());
+    }
+
+    @Test
+    void givenWriteDuringConditionalReload_whenUpstreamAnswersNotModified_thenPatchedSnapshotIsKept() {
+
+        Employee kept = employee("Kept");
+        Employee created = employee("Created");
+
+        snapshotStore.replace(List.of(kept), snapshotStore.currentVersion(), "\"upstream-1\"");
+
+        // When: a conditional reload starts, a create is confirmed, then the reload is answered 304
+        long baseVersion = snapshotStore.currentVersion();
+        snapshotStore.applyCreated(created);
+        long patchedVersion = snapshotStore.get().getVersion();
+        snapshotStore.revalidate(baseVersion);
+
+        // Then
+        assertEquals(List.of(kept, created), snapshotStore.get().getEmployees());
+        assertEquals(patchedVersion, snapshotStore.get().getVersion());
+        assertEquals("\"upstream-1\"", snapshotStore.getUpstreamETag());
+        assertEquals(1, snapshotStore.getRevalidationCount());
+    }
+
+    private static Employee employee(String name) {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(100);
+        return employee;
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.config.EmployeeWarmUpProperties;
+import com.reliaquest.api.metrics.EmployeeMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Runs the startup warm-up without a web server, against a snapshot already in the store and against an upstream
+ * that cannot be reached.
+ */
+class EmployeeWarmUpTest {
+
+    private final EmployeeSnapshotStore snapshotStore = new EmployeeSnapshotStore();
+
+    private final EmployeeWarmUpProperties properties = new EmployeeWarmUpProperties();
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void givenUnreachableUpstream_whenWarmingUp_thenUsesGeneratedEmployeesAndLeavesTheStoreEmpty() {
+
+        properties.setSnapshotTimeout(Duration.ofSeconds(2));
+        properties.setRequestsPerEndpoint(20);
+
+        assertEquals(EmployeeWarmUp.Outcome.GENERATED, warmUp().warmUp());
+        assertNull(snapshotStore.get());
+    }
+
+    @Test
+    void givenLoadedSnapshot_whenWarmingUpWithoutServerPort_thenExercisesItInProcessUnchanged() {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            employees.add(employee("Employee " + i, 1_000 + i));
+        }
+        EmployeeSnapshot loaded = snapshotStore.replace(employees, 0, null);
+        properties.setRequestsPerEndpoint(20);
+
+        assertEquals(EmployeeWarmUp.Outcome.SNAPSHOT, warmUp().warmUp());
+        assertSame(loaded, snapshotStore.get());
+    }
+
+    @Test
+    void givenDisabledWarmUp_whenStarting_thenDoesNothing() {
+
+        properties.setEnabled(false);
+
+        assertEquals(EmployeeWarmUp.Outcome.DISABLED, warmUp().warmUp());
+        assertNull(snapshotStore.get());
+    }
+
+    private EmployeeWarmUp warmUp() {
+
+        // Nothing listens on port 1, so every load fails with a refused connection.
+        EmployeeService employeeService = new EmployeeService(
+                WebClient.create("http://localhost:1/api/v1"),
+                snapshotStore,
+                new EmployeeCacheProperties(),
+                new EmployeeMetrics(new SimpleMeterRegistry(), snapshotStore),
+                new EmployeeBulkProperties(),
+                validatorFactory.getValidator());
+
+        return new EmployeeWarmUp(employeeService, properties, new MockEnvironment(), new ObjectMapper());
+    }
+
+    private static Employee employee(String name, int salary) {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName(name);
+        employee.setEmployeeSalary(salary);
+        employee.setEmployeeAge(30);
+        employee.setEmployeeTitle("Engineer");
+        employee.setEmployeeEmail(name.replace(' ', '.') + "@company.com");
+        return employee;
+    }
+}
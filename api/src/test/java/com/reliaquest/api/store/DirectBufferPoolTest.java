@@ -0,0 +1,56 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks which released buffers the pool hands out again, and the direct memory it accounts for.
+ */
+class DirectBufferPoolTest {
+
+    private final DirectBufferPool pool = new DirectBufferPool();
+
+    @Test
+    void givenReleasedBuffer_whenAcquiringSlightlyMore_thenReusesItsHeadroom() {
+
+        ByteBuffer buffer = pool.acquire(800);
+        assertTrue(buffer.isDirect());
+        assertTrue(buffer.capacity() >= 900);
+
+        pool.release(buffer);
+
+        assertSame(buffer, pool.acquire(840));
+        assertEquals(buffer.capacity(), pool.getReservedBytes());
+    }
+
+    @Test
+    void givenReleasedBuffer_whenAcquiringFarLessOrMore_thenAllocatesAnother() {
+
+        ByteBuffer buffer = pool.acquire(800);
+        pool.release(buffer);
+
+        assertNotSame(buffer, pool.acquire(100));
+        assertNotSame(buffer, pool.acquire(1000));
+    }
+
+    @Test
+    void givenFullPool_whenReleasing_thenDropsTheBuffer() {
+
+        ByteBuffer[] buffers = new ByteBuffer[DirectBufferPool.MAX_POOLED + 1];
+        long reserved = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = pool.acquire(1000);
+            reserved += buffers[i].capacity();
+        }
+        for (ByteBuffer buffer : buffers) {
+            pool.release(buffer);
+        }
+
+        assertEquals(reserved - buffers[buffers.length - 1].capacity(), pool.getReservedBytes());
+    }
+}
@@ -0,0 +1,221 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Checks tables patched create by create and delete by delete against the employee list they were patched from, on
+ * and off the heap, and how often a burst of patches builds a table anew.
+ */
+class EmployeeTableTest {
+
+    private static final String[] TITLES = {"Engineer", "Designer", "Größenmanager", null};
+
+    private final Random random = new Random(13);
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenRandomCreatesAndDeletes_whenPatched_thenReadsBackTheList(boolean offHeap) {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(employee());
+        }
+
+        EmployeeTable table = table(offHeap, employees);
+
+        for (int step = 0; step < 500; step++) {
+
+            if (employees.size() > 1 && random.nextBoolean()) {
+                int position = random.nextInt(employees.size());
+                employees.remove(position);
+                table = table.withRemoved(position);
+            } else {
+                Employee added = employee();
+                employees.add(added);
+                table = table.withAdded(added);
+            }
+
+            assertEquals(employees, table.asList());
+            for (int i = 0; i < employees.size(); i++) {
+                assertEquals(i, table.indexOf(employees.get(i).getUuid()));
+            }
+            assertEquals(-1, table.indexOf(UUID.randomUUID()));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenTwoPatchesOfTheSameTable_whenBothAppend_thenNeitherSeesTheOther(boolean offHeap) {
+
+        EmployeeTable base = table(offHeap, List.of(employee(), employee()));
+        Employee first = employee();
+        Employee second = employee();
+
+        EmployeeTable withFirst = base.withAdded(first);
+        EmployeeTable withSecond = base.withAdded(second);
+
+        assertEquals(first, withFirst.employee(2));
+        assertEquals(second, withSecond.employee(2));
+        assertEquals(-1, withFirst.indexOf(second.getUuid()));
+        assertEquals(-1, withSecond.indexOf(first.getUuid()));
+        assertEquals(2, base.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenMissingValues_whenStored_thenReadBackAsMissing(boolean offHeap) {
+
+        Employee empty = new Employee();
+        EmployeeTable table = table(offHeap, List.of(empty)).withAdded(new Employee());
+
+        for (int position = 0; position < table.size(); position++) {
+            assertEquals(empty, table.employee(position));
+            assertNull(table.name(position));
+            assertEquals(EmployeeTable.NO_VALUE, table.salary(position));
+        }
+        assertEquals(-1, table.indexOf(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenBurstOfWrites_whenPatched_thenBuildsTheTableAnewOnlyEveryEighthOfIt(boolean offHeap) {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            employees.add(employee());
+        }
+        EmployeeTable table = table(offHeap, employees);
+        long reservedBefore = EmployeeTable.offHeapBytes();
+        int rebuilds = 0;
+
+        // No garbage collection is forced, so replaced buffers may not be back in the pool yet.
+        for (int step = 0; step < 1_000; step++) {
+            if (step % 2 == 0) {
+                Employee added = employee();
+                employees.add(added);
+                table = table.withAdded(added);
+            } else {
+                int position = random.nextInt(employees.size());
+                employees.remove(position);
+                table = table.withRemoved(position);
+            }
+            if (!(table instanceof PatchedEmployeeTable)) {
+                rebuilds++;
+            }
+        }
+
+        assertEquals(employees, table.asList());
+        assertTrue(rebuilds <= 1_000 / 125, rebuilds + " rebuilds");
+
+        // Each buffer written is at most twice the table's size, headroom and pool reuse included.
+        long bufferBytes = offHeap ? new OffHeapEmployeeTable.Layout(employees).capacity() * 2L : 0;
+        assertTrue(EmployeeTable.offHeapBytes() - reservedBefore <= rebuilds * bufferBytes);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenRepeatedId_whenLaterEmployeesWithItAreRemoved_thenFindsTheEarlierOne(boolean offHeap) {
+
+        Employee first = employee();
+        Employee second = employee();
+        second.setUuid(first.getUuid());
+        Employee third = employee();
+        third.setUuid(first.getUuid());
+
+        EmployeeTable table = table(offHeap, List.of(employee(), first, employee(), second)).withAdded(third);
+
+        assertEquals(4, table.indexOf(first.getUuid()));
+        assertEquals(3, table.withRemoved(4).indexOf(first.getUuid()));
+        assertEquals(1, table.withRemoved(4).withRemoved(3).indexOf(first.getUuid()));
+        assertEquals(0, table.withRemoved(0).withRemoved(1).withRemoved(1).withRemoved(1).indexOf(first.getUuid()));
+        assertEquals(-1, table.withRemoved(1).withRemoved(2).withRemoved(2).indexOf(first.getUuid()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, PatchedEmployeeTable.MIN_PENDING})
+    void givenBatchOffHeap_whenAddedAll_thenKeepsItPendingOnlyWhileItFits(int batchSize) {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(employee());
+        }
+        EmployeeTable table = EmployeeTable.offHeap(employees).withRemoved(5);
+        employees.remove(5);
+
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(employee());
+        }
+        employees.addAll(batch);
+        table = table.withAddedAll(batch);
+
+        assertEquals(employees, table.asList());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(i, table.indexOf(employees.get(i).getUuid()));
+        }
+        // The delete is pending too, so a batch of MIN_PENDING no longer fits.
+        assertEquals(batchSize < PatchedEmployeeTable.MIN_PENDING, table instanceof PatchedEmployeeTable);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void givenTitlesInAnyCase_whenMatched_thenMatchesLikeEqualsIgnoreCase(boolean offHeap) {
+
+        // Past the dictionary's capacity some titles are stored more than once, so matching falls back to decoding.
+        for (int distinctTitles : List.of(3, EmployeeTable.MAX_DISTINCT_TITLES + 10)) {
+
+            List<Employee> employees = new ArrayList<>();
+            for (int i = 0; i < distinctTitles + 200; i++) {
+                Employee employee = employee();
+                int title = random.nextInt(distinctTitles + 1);
+                employee.setEmployeeTitle(title == 0 ? null : (random.nextBoolean() ? "lead " : "LEAD ") + title);
+                employees.add(employee);
+            }
+            EmployeeTable table = table(offHeap, employees).withAdded(employees.get(7)).withRemoved(3);
+            employees.add(employees.get(7));
+            employees.remove(3);
+
+            IntPredicate matcher = table.titleMatcher("Lead 2");
+            for (int position = 0; position < employees.size(); position++) {
+                String title = employees.get(position).getEmployeeTitle();
+                assertEquals("Lead 2".equalsIgnoreCase(title), matcher.test(position));
+            }
+        }
+    }
+
+    @Test
+    void givenSelectedPositions_whenViewed_thenListsThoseEmployeesInOrder() {
+
+        List<Employee> employees = List.of(employee(), employee(), employee());
+        EmployeeTable table = EmployeeTable.of(employees);
+
+        assertEquals(List.of(employees.get(2), employees.get(0)), table.asList(new int[] {2, 0}));
+    }
+
+    private static EmployeeTable table(boolean offHeap, List<Employee> employees) {
+        return offHeap ? EmployeeTable.offHeap(employees) : EmployeeTable.of(employees);
+    }
+
+    private Employee employee() {
+        Employee employee = new Employee();
+        employee.setUuid(UUID.randomUUID());
+        employee.setEmployeeName("Émile " + Integer.toString(random.nextInt(100_000), 36));
+        employee.setEmployeeSalary(random.nextInt(10) == 0 ? null : random.nextInt(1_000_000));
+        employee.setEmployeeAge(random.nextInt(10) == 0 ? null : random.nextInt(16, 70));
+        employee.setEmployeeTitle(TITLES[random.nextInt(TITLES.length)]);
+        employee.setEmployeeEmail(random.nextInt(10) == 0 ? null : "employee" + random.nextInt(1000) + "@company.com");
+        return employee;
+    }
+}
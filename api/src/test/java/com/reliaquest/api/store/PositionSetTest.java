@@ -0,0 +1,65 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks sets grown position by position against a {@link TreeSet}, and that growing one leaves the set it was grown
+ * from as it was.
+ */
+class PositionSetTest {
+
+    private final Random random = new Random(17);
+
+    @Test
+    void givenRandomPositions_whenAdded_thenCountsAndSkipsLikeASortedSet() {
+
+        TreeSet<Integer> expected = new TreeSet<>();
+        PositionSet set = PositionSet.EMPTY;
+
+        for (int step = 0; step < 500; step++) {
+
+            int position = random.nextInt(2_000);
+            if (!expected.add(position)) {
+                continue;
+            }
+            PositionSet before = set;
+            set = set.with(position);
+
+            assertEquals(expected.size(), set.size());
+            assertEquals(expected.size() - 1, before.size());
+            for (int probe = 0; probe < 2_000; probe += 37) {
+                assertEquals(expected.contains(probe), set.contains(probe));
+                assertEquals(expected.headSet(probe).size(), set.countBelow(probe));
+            }
+        }
+
+        List<Integer> outside = new ArrayList<>();
+        for (int position = 0; outside.size() < 2_000; position++) {
+            if (!expected.contains(position)) {
+                outside.add(position);
+            }
+        }
+        for (int index = 0; index < outside.size(); index++) {
+            assertEquals(outside.get(index).intValue(), set.skip(index));
+        }
+    }
+
+    @Test
+    void givenAscendingPositions_whenAdded_thenSkipsPastAllOfThem() {
+
+        PositionSet set = PositionSet.EMPTY;
+        for (int position = 0; position < 10_000; position++) {
+            set = set.with(position);
+        }
+
+        assertEquals(10_000, set.skip(0));
+        assertEquals(10_005, set.skip(5));
+        assertEquals(0, PositionSet.EMPTY.skip(0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Round-trips employee tables through snapshot files and checks that damaged files are refused.
+ */
+class SnapshotFileTest {
+
+    private static final Instant LOADED_AT = Instant.ofEpochMilli(1_700_000_000_000L);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void givenSavedTable_whenRead_thenServesTheSameEmployeesLoadTimeAndETag() throws IOException {
+
+        List<Employee> employees = employees(100);
+        Path file = directory.resolve("snapshots/employees.bin");
+
+        SnapshotFile.write(file, EmployeeTable.of(employees), LOADED_AT, "\"upstream-7\"");
+        SnapshotFile.Contents contents = SnapshotFile.read(file);
+
+        assertEquals(employees, contents.table().asList());
+        assertEquals(LOADED_AT, contents.loadedAt());
+        assertEquals("\"upstream-7\"", contents.upstreamETag());
+        assertEquals(42, contents.table().indexOf(employees.get(42).getUuid()));
+    }
+
+    @Test
+    void givenMappedTable_whenPatched_thenFileIsUnchanged() throws IOException {
+
+        List<Employee> employees = employees(10);
+        Path file = directory.resolve("employees.bin");
+        SnapshotFile.write(file, EmployeeTable.of(employees), LOADED_AT, null);
+
+        Employee created = employees(1).get(0);
+        EmployeeTable patched = SnapshotFile.read(file).table().withAdded(created).withRemoved(0);
+
+        List<Employee> expected = new ArrayList<>(employees.subList(1, employees.size()));
+        expected.add(created);
+        assertEquals(expected, patched.asList());
+
+        SnapshotFile.Contents reread = SnapshotFile.read(file);
+        assertEquals(employees, reread.table().asList());
+        assertNull(reread.upstreamETag());
+    }
+
+    @Test
+    void givenMissingOrDamagedFile_whenRead_thenNothingOrIOException() throws IOException {
+
+        Path file = directory.resolve("employees.bin");
+        assertNull(SnapshotFile.read(file));
+
+        SnapshotFile.write(file, EmployeeTable.of(employees(10)), LOADED_AT, null);
+        Files.write(file, new byte[] {0}, StandardOpenOption.APPEND);
+        assertThrows(IOException.class, () -> SnapshotFile.read(file));
+
+        Files.write(file, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> SnapshotFile.read(file));
+    }
+
+    private static List<Employee> employees(int count) {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setUuid(UUID.randomUUID());
+            employee.setEmployeeName("Zoë " + i);
+            employee.setEmployeeSalary(i % 7 == 0 ? null : 1000 * i);
+            employee.setEmployeeAge(20 + i % 40);
+            employee.setEmployeeTitle(i % 3 == 0 ? null : "Title " + i % 3);
+            employee.setEmployeeEmail("employee" + i + "@company.com");
+            employees.add(employee);
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.codec.EmployeeFields;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.UUID;
+
+/**
+ * Allocation-lean, immutable counterpart of {@link Employee}: the id is kept as two {@code long}s instead of a
+ * {@link UUID} object and salary and age as primitive {@code int}s instead of boxed {@link Integer}s, which saves about
+ * half of the object overhead of each employee, its strings aside. The api keeps its employees in an
+ * {@link EmployeeTable} instead; this is the per-object baseline the benchmarks compare against.
+ *
+ * <p>Absent values keep their meaning: a missing id is flagged, a missing salary or age is {@link #NO_VALUE}.
+ */
+public final class CompactEmployee {
+
+    public static final int NO_VALUE = EmployeeTable.NO_VALUE;
+
+    private final boolean hasId;
+
+    private final long idMostSignificantBits;
+
+    private final long idLeastSignificantBits;
+
+    private final String name;
+
+    private final int salary;
+
+    private final int age;
+
+    private final String title;
+
+    private final String email;
+
+    public CompactEmployee(
+            boolean hasId,
+            long idMostSignificantBits,
+            long idLeastSignificantBits,
+            String name,
+            int salary,
+            int age,
+            String title,
+            String email) {
+        this.hasId = hasId;
+        this.idMostSignificantBits = idMostSignificantBits;
+        this.idLeastSignificantBits = idLeastSignificantBits;
+        this.name = name;
+        this.salary = salary;
+        this.age = age;
+        this.title = title;
+        this.email = email;
+    }
+
+    /**
+     * Mapping function for {@link com.reliaquest.api.codec.EmployeeJsonDecoder}.
+     */
+    public static CompactEmployee of(EmployeeFields fields) {
+        return new CompactEmployee(
+                fields.hasId(),
+                fields.getIdMostSignificantBits(),
+                fields.getIdLeastSignificantBits(),
+                fields.getName(),
+                fields.getSalary(),
+                fields.getAge(),
+                fields.getTitle(),
+                fields.getEmail());
+    }
+
+    public boolean hasId() {
+        return hasId;
+    }
+
+    /**
+     * @return the id, allocated on every call, or {@code null} if there is none
+     */
+    public UUID getId() {
+        return hasId ? new UUID(idMostSignificantBits, idLeastSignificantBits) : null;
+    }
+
+    public long getIdMostSignificantBits() {
+        return idMostSignificantBits;
+    }
+
+    public long getIdLeastSignificantBits() {
+        return idLeastSignificantBits;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the salary, or {@link #NO_VALUE}
+     */
+    public int getSalary() {
+        return salary;
+    }
+
+    /**
+     * @return the age, or {@link #NO_VALUE}
+     */
+    public int getAge() {
+        return age;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic employees shaped like the Mock Employee API's data, so runs are comparable.
+ */
+final class EmployeeFixtures {
+
+    private static final String[] FIRST_NAMES = {
+        "Winfred", "Serina", "Antoinette", "Lindsy", "Tiger", "Bill", "Jill", "Hong", "Marcus", "Ayesha", "Kenji",
+        "Olga", "Pedro", "Fatima", "Dmitri", "Chloe", "Rahul", "Ingrid", "Tobias", "Mei"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Kautzer", "Pfannerstill", "Cormier", "Anderson", "Nixon", "Bob", "Jenkins", "Huels", "Okafor", "Larsen",
+        "Schmidt", "Nakamura", "Haddad", "Petrov", "Moreau", "Gupta", "Johansson", "Becker", "Rossi", "Chen"
+    };
+
+    private static final String[] TITLES = {
+        "Regional Producer", "Dynamic Designer", "Consulting Developer", "National IT Orchestrator",
+        "Documentation Engineer", "Financial Advisor", "Senior Software Engineer", "Chief Operations Specialist"
+    };
+
+    private EmployeeFixtures() {}
+
+    static List<Employee> employees(int count) {
+
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setUuid(new UUID(random.nextLong(), random.nextLong()));
+            employee.setEmployeeName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + Integer.toString(i, 36));
+            employee.setEmployeeSalary(random.nextInt(30000, 500000));
+            employee.setEmployeeAge(random.nextInt(16, 70));
+            employee.setEmployeeTitle(TITLES[random.nextInt(TITLES.length)]);
+            employee.setEmployeeEmail("employee" + i + "@company.com");
+            employees.add(employee);
+        }
+
+        return employees;
+    }
+}
@@ -0,0 +1,109 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Heap footprint of a list of {@link Employee}s against one of {@link CompactEmployee}s. Each operation builds the
+ * whole list from the same primitive values and shared strings, the way a decoder would, so with the {@code gc}
+ * profiler {@code gc.alloc.rate.norm} divided by {@code employeeCount} is the heap each employee holds besides its
+ * strings: the object, its id and boxed salary for {@code Employee}, the object alone for {@code CompactEmployee},
+ * plus a slot of the list's array for both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EmployeeFootprintBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int employeeCount;
+
+    private long[] idMostSignificantBits;
+
+    private long[] idLeastSignificantBits;
+
+    private int[] salaries;
+
+    private int[] ages;
+
+    private String[] names;
+
+    private String[] titles;
+
+    private String[] emails;
+
+    @Setup
+    public void setUp() {
+
+        List<Employee> employees = EmployeeFixtures.employees(employeeCount);
+
+        idMostSignificantBits = new long[employeeCount];
+        idLeastSignificantBits = new long[employeeCount];
+        salaries = new int[employeeCount];
+        ages = new int[employeeCount];
+        names = new String[employeeCount];
+        titles = new String[employeeCount];
+        emails = new String[employeeCount];
+
+        for (int i = 0; i < employeeCount; i++) {
+            Employee employee = employees.get(i);
+            idMostSignificantBits[i] = employee.getUuid().getMostSignificantBits();
+            idLeastSignificantBits[i] = employee.getUuid().getLeastSignificantBits();
+            salaries[i] = employee.getEmployeeSalary();
+            ages[i] = employee.getEmployeeAge();
+            names[i] = employee.getEmployeeName();
+            titles[i] = employee.getEmployeeTitle();
+            emails[i] = employee.getEmployeeEmail();
+        }
+    }
+
+    @Benchmark
+    public List<Employee> employees() {
+
+        List<Employee> employees = new ArrayList<>(employeeCount);
+
+        for (int i = 0; i < employeeCount; i++) {
+            Employee employee = new Employee();
+            employee.setUuid(new UUID(idMostSignificantBits[i], idLeastSignificantBits[i]));
+            employee.setEmployeeName(names[i]);
+            employee.setEmployeeSalary(salaries[i]);
+            employee.setEmployeeAge(ages[i]);
+            employee.setEmployeeTitle(titles[i]);
+            employee.setEmployeeEmail(emails[i]);
+            employees.add(employee);
+        }
+
+        return employees;
+    }
+
+    @Benchmark
+    public List<CompactEmployee> compactEmployees() {
+
+        List<CompactEmployee> employees = new ArrayList<>(employeeCount);
+
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(new CompactEmployee(
+                    true,
+                    idMostSignificantBits[i],
+                    idLeastSignificantBits[i],
+                    names[i],
+                    salaries[i],
+                    ages[i],
+                    titles[i],
+                    emails[i]));
+        }
+
+        return employees;
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.codec.EmployeeFields;
+import com.reliaquest.api.codec.EmployeeJsonDecoder;
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.metrics.EmployeeMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.Status;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Cost of turning a Mock Employee API list response into the employee list a snapshot is built from: Jackson decoding
+ * of {@code EmployeeResponse<List<Employee>>} with the mapper configuration Spring gives the WebClient, and
+ * {@code EmployeeService.processResponse} on the decoded response, against the streaming {@link EmployeeJsonDecoder}
+ * the service decodes with now, into {@link Employee}s and into {@link CompactEmployee}s. Run with the {@code gc}
+ * profiler to see the bytes allocated per decoded employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeResponseDecodingBenchmark {
+
+    /** The whole payload is held in memory, so the largest size stays below the snapshot suites' million. */
+    @Param({"1000", "10000", "100000"})
+    private int employeeCount;
+
+    private ObjectMapper objectMapper;
+
+    private JavaType responseType;
+
+    private final EmployeeJsonDecoder streamingDecoder = new EmployeeJsonDecoder();
+
+    private byte[] payload;
+
+    private EmployeeResponse<List<Employee>> decoded;
+
+    private ValidatorFactory validatorFactory;
+
+    private EmployeeService employeeService;
+
+    /** {@code processResponse} is private; a method handle keeps reflection out of the measurement. */
+    private MethodHandle processResponse;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException, IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseType = objectMapper
+                .getTypeFactory()
+                .constructParametricType(
+                        EmployeeResponse.class,
+                        objectMapper.getTypeFactory().constructCollectionType(List.class, Employee.class));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("data", EmployeeFixtures.employees(employeeCount));
+        response.put("status", Status.HANDLED);
+        payload = objectMapper.writeValueAsBytes(response);
+
+        decoded = objectMapper.readValue(payload, responseType);
+
+        EmployeeSnapshotStore snapshotStore = new EmployeeSnapshotStore();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        employeeService = new EmployeeService(
+                WebClient.create("http://localhost:0"),
+                snapshotStore,
+                new EmployeeCacheProperties(),
+                new EmployeeMetrics(new SimpleMeterRegistry(), snapshotStore),
+                new EmployeeBulkProperties(),
+                validatorFactory.getValidator());
+
+        processResponse = MethodHandles.privateLookupIn(EmployeeService.class, MethodHandles.lookup())
+                .findVirtual(
+                        EmployeeService.class,
+                        "processResponse",
+                        MethodType.methodType(Object.class, EmployeeResponse.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public EmployeeResponse<List<Employee>> decode() throws IOException {
+        return objectMapper.readValue(payload, responseType);
+    }
+
+    @Benchmark
+    public Object processResponse() throws Throwable {
+        return processResponse.invoke(employeeService, decoded);
+    }
+
+    @Benchmark
+    public Object decodeAndProcess() throws Throwable {
+        EmployeeResponse<List<Employee>> response = objectMapper.readValue(payload, responseType);
+        return processResponse.invoke(employeeService, response);
+    }
+
+    @Benchmark
+    public EmployeeResponse<List<Employee>> streamingDecode() throws IOException {
+        return streamingDecoder.decode(new ByteArrayInputStream(payload), EmployeeFields::toEmployee);
+    }
+
+    @Benchmark
+    public EmployeeResponse<List<CompactEmployee>> streamingDecodeCompact() throws IOException {
+        return streamingDecoder.decode(new ByteArrayInputStream(payload), CompactEmployee::of);
+    }
+
+    @Benchmark
+    public Object streamingDecodeAndProcess() throws Throwable {
+        EmployeeResponse<List<Employee>> response =
+                streamingDecoder.decode(new ByteArrayInputStream(payload), EmployeeFields::toEmployee);
+        return processResponse.invoke(employeeService, response);
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.config.EmployeeBulkProperties;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.metrics.EmployeeMetrics;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeSnapshotStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * End-to-end cost of the snapshot-served read endpoints as the controllers call them: the blocking
+ * {@link EmployeeService} methods, including the {@code Mono} assembly, the {@code block()} and the snapshot hit
+ * metric. The snapshot is preloaded, so the WebClient, which points nowhere, is never used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int employeeCount;
+
+    private ValidatorFactory validatorFactory;
+
+    private EmployeeService employeeService;
+
+    @Setup
+    public void setUp() {
+        EmployeeSnapshotStore snapshotStore = new EmployeeSnapshotStore();
+        snapshotStore.replace(EmployeeFixtures.employees(employeeCount));
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        employeeService = new EmployeeService(
+                WebClient.create("http://localhost:0"),
+                snapshotStore,
+                new EmployeeCacheProperties(),
+                new EmployeeMetrics(new SimpleMeterRegistry(), snapshotStore),
+                new EmployeeBulkProperties(),
+                validatorFactory.getValidator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    /** A common surname fragment, so the result list is part of the measured work. */
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch("son");
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+}
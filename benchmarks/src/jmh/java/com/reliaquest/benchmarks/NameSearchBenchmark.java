@@ -0,0 +1,59 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.index.EmployeeNameIndex;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Latency of {@code getEmployeesByNameSearch} over the trigram index versus the original linear scan, which lower-cased
+ * every name twice and compiled a regex per employee on every call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int employeeCount;
+
+    /**
+     * A full first and last name, which one in 400 generated employees has; a surname fragment that a tenth of them
+     * match; and a two-character query that cannot use trigrams.
+     */
+    @Param({"winfred kautzer", "son", "ch"})
+    private String searchString;
+
+    private List<Employee> employees;
+
+    private EmployeeNameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        employees = EmployeeFixtures.employees(employeeCount);
+        nameIndex = new EmployeeNameIndex(EmployeeTable.of(employees));
+    }
+
+    @Benchmark
+    public List<Employee> trigramIndex() {
+        return nameIndex.search(searchString);
+    }
+
+    @Benchmark
+    public List<Employee> linearScan() {
+        return employees.stream()
+                .filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase())
+                        || employee.getEmployeeName().toLowerCase().matches(searchString.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.index.SalaryAggregates;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeTable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * {@code highestSalary} and {@code topTenHighestEarningEmployeeNames}: reading the precomputed aggregates versus the
+ * per-request stream max and full sort they replaced, plus the one-off cost of building and patching the aggregates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SalaryAggregatesBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int employeeCount;
+
+    private List<Employee> employees;
+
+    private EmployeeTable table;
+
+    private SalaryAggregates aggregates;
+
+    /** {@link #table} with one more employee appended. */
+    private EmployeeTable tableWithNewEmployee;
+
+    @Setup
+    public void setUp() {
+        employees = EmployeeFixtures.employees(employeeCount);
+        table = EmployeeTable.of(employees);
+        aggregates = SalaryAggregates.of(table);
+        tableWithNewEmployee = table.withAdded(EmployeeFixtures.employees(1).get(0));
+    }
+
+    @Benchmark
+    public int highestSalaryPrecomputed() {
+        return aggregates.getHighestSalary();
+    }
+
+    @Benchmark
+    public int highestSalaryStream() {
+        return employees.stream()
+                .mapToInt(Employee::getEmployeeSalary)
+                .max()
+                .orElseThrow(NoSuchElementException::new);
+    }
+
+    @Benchmark
+    public List<String> topTenPrecomputed() {
+        return aggregates.getTopEarnerNames();
+    }
+
+    @Benchmark
+    public List<String> topTenFullSort() {
+        return employees.stream()
+                .sorted(Comparator.comparingInt(Employee::getEmployeeSalary).reversed())
+                .limit(10)
+                .map(Employee::getEmployeeName)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public SalaryAggregates buildOnSnapshotLoad() {
+        return SalaryAggregates.of(table);
+    }
+
+    @Benchmark
+    public SalaryAggregates patchOnCreate() {
+        return aggregates.withAdded(tableWithNewEmployee);
+    }
+}
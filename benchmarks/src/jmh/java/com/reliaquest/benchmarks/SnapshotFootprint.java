@@ -0,0 +1,114 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeSnapshot;
+import com.reliaquest.api.store.EmployeeTable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Prints the heap each employee retains in the snapshot, measured as the growth of the used heap after a full GC
+ * while the structure is held:
+ *
+ * <ul>
+ *   <li>{@code objects}: {@link Employee} objects with their own strings, as decoded, plus a map of positions by id;
+ *       the core of the object-based snapshot, before its name index
+ *   <li>{@code table}: the columnar {@link EmployeeTable} alone
+ *   <li>{@code snapshot}: a whole {@link EmployeeSnapshot}, with its name index and salary aggregates
+ *   <li>{@code off-heap}: an {@link EmployeeTable#offHeap(List) off-heap table}, which leaves only a few objects on
+ *       the heap; the direct memory it takes is printed next to it
+ * </ul>
+ *
+ * <p>Run with {@code ./gradlew benchmarks:snapshotFootprint}, optionally with {@code -PfootprintCounts=100000,1000000}.
+ */
+public final class SnapshotFootprint {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private SnapshotFootprint() {}
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int[] counts = args.length == 0
+                ? new int[] {100_000, 1_000_000}
+                : Arrays.stream(args[0].split(",")).mapToInt(Integer::parseInt).toArray();
+
+        System.out.printf(
+                "%-10s %12s %12s %12s %12s %12s%n",
+                "Employees", "objects B", "table B", "snapshot B", "off-heap B", "direct B");
+
+        for (int count : counts) {
+
+            List<Employee> employees = EmployeeFixtures.employees(count);
+
+            long objects = retained(() -> decodedCopy(employees));
+            long table = retained(() -> EmployeeTable.of(employees));
+            long snapshot = retained(() -> new EmployeeSnapshot(1, Instant.now(), employees));
+
+            long directBefore = EmployeeTable.offHeapBytes();
+            EmployeeTable[] offHeapTable = new EmployeeTable[1];
+            long offHeap = retained(() -> offHeapTable[0] = EmployeeTable.offHeap(employees));
+            long direct = EmployeeTable.offHeapBytes() - directBefore;
+            Reference.reachabilityFence(offHeapTable[0]);
+
+            System.out.printf(
+                    "%-10d %12.1f %12.1f %12.1f %12.1f %12.1f%n",
+                    count,
+                    (double) objects / count,
+                    (double) table / count,
+                    (double) snapshot / count,
+                    (double) offHeap / count,
+                    (double) direct / count);
+        }
+    }
+
+    /*
+     * Copies every string, as a decoder would create them, and adds the map by id the snapshot kept alongside.
+     */
+    private static Object decodedCopy(List<Employee> employees) {
+
+        List<Employee> copies = new ArrayList<>(employees.size());
+        Map<UUID, Integer> positionsById = HashMap.newHashMap(employees.size());
+
+        for (Employee employee : employees) {
+            Employee copy = new Employee();
+            copy.setUuid(new UUID(
+                    employee.getUuid().getMostSignificantBits(),
+                    employee.getUuid().getLeastSignificantBits()));
+            copy.setEmployeeName(new String(employee.getEmployeeName()));
+            copy.setEmployeeSalary(Integer.valueOf(employee.getEmployeeSalary()));
+            copy.setEmployeeAge(Integer.valueOf(employee.getEmployeeAge()));
+            copy.setEmployeeTitle(new String(employee.getEmployeeTitle()));
+            copy.setEmployeeEmail(new String(employee.getEmployeeEmail()));
+            positionsById.put(copy.getUuid(), copies.size());
+            copies.add(copy);
+        }
+
+        return List.of(copies, positionsById);
+    }
+
+    private static long retained(Supplier<Object> build) throws InterruptedException {
+        long before = usedAfterGc();
+        Object held = build.get();
+        long after = usedAfterGc();
+        Reference.reachabilityFence(held);
+        return after - before;
+    }
+
+    private static long usedAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
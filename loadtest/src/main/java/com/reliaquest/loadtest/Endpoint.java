@@ -0,0 +1,24 @@
+package com.reliaquest.loadtest;
+
+/**
+ * The api routes the harness drives, reported separately.
+ */
+enum Endpoint {
+    GET_ALL("GET /"),
+    SEARCH("GET /search/{searchString}"),
+    GET_BY_ID("GET /{id}"),
+    HIGHEST_SALARY("GET /highestSalary"),
+    TOP_TEN("GET /topTenHighestEarningEmployeeNames"),
+    CREATE("POST /"),
+    DELETE("DELETE /{id}");
+
+    private final String route;
+
+    Endpoint(String route) {
+        this.route = route;
+    }
+
+    String getRoute() {
+        return route;
+    }
+}
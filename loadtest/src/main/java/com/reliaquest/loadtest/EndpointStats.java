@@ -0,0 +1,71 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Outcomes and latencies of the requests sent to one endpoint. Every latency is kept, so percentiles are exact; a run
+ * of a few million requests needs a few tens of megabytes.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+
+    private int requests;
+
+    private int rateLimited;
+
+    private int errors;
+
+    /**
+     * @param status the HTTP status, or {@code -1} when the request failed without a response
+     */
+    synchronized void record(long latencyNanos, int status) {
+
+        if (requests == latencies.length) {
+            latencies = Arrays.copyOf(latencies, requests * 2);
+        }
+        latencies[requests++] = latencyNanos;
+
+        if (status == 429) {
+            rateLimited++;
+        } else if (status < 200 || status >= 300) {
+            errors++;
+        }
+    }
+
+    synchronized Summary summarize(Duration elapsed) {
+
+        long[] sorted = Arrays.copyOf(latencies, requests);
+        Arrays.sort(sorted);
+
+        return new Summary(
+                requests,
+                requests / (elapsed.toNanos() / 1e9),
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                percentile(sorted, 0.999),
+                rateLimited,
+                errors);
+    }
+
+    private static Duration percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Duration.ZERO;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return Duration.ofNanos(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    /**
+     * @param errors responses other than 2xx and 429, plus requests that got no response at all
+     */
+    record Summary(
+            int requests,
+            double throughput,
+            Duration p50,
+            Duration p99,
+            Duration p999,
+            int rateLimited,
+            int errors) {}
+}
@@ -0,0 +1,246 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Drives a {@link Workload} against the api with a fixed number of closed-loop workers on virtual threads, and
+ * records every request per {@link Endpoint}.
+ */
+final class LoadGenerator {
+
+    private static final String JSON = "application/json";
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String employeesUrl;
+
+    private final List<String> employeeIds;
+
+    private final List<String> searchStrings;
+
+    /** Swapped when measuring starts and ends; requests record into whichever is current when they complete. */
+    private volatile Recording recording = new Recording();
+
+    private volatile boolean running;
+
+    LoadGenerator(
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            String employeesUrl,
+            List<String> employeeIds,
+            List<String> searchStrings) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.employeesUrl = employeesUrl;
+        this.employeeIds = employeeIds;
+        this.searchStrings = searchStrings;
+    }
+
+    /**
+     * Runs {@code workload} for {@code warmUp} unrecorded, then for {@code duration} recorded.
+     */
+    Result run(Workload workload, int concurrency, Duration warmUp, Duration duration) throws InterruptedException {
+
+        Recording measured = new Recording();
+        Duration elapsed;
+
+        running = true;
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (int i = 0; i < concurrency; i++) {
+                workers.submit(() -> {
+                    while (running) {
+                        Endpoint endpoint = workload.next(ThreadLocalRandom.current());
+                        send(endpoint, request(endpoint, ThreadLocalRandom.current()));
+                    }
+                });
+            }
+
+            if (workload.hasBursts()) {
+                workers.submit(() -> {
+                    burst(workload);
+                    return null;
+                });
+            }
+
+            Thread.sleep(warmUp.toMillis());
+
+            recording = measured;
+            long start = System.nanoTime();
+
+            Thread.sleep(duration.toMillis());
+
+            recording = new Recording();
+            elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            running = false;
+        }
+
+        Map<Endpoint, EndpointStats.Summary> summaries = new EnumMap<>(Endpoint.class);
+        measured.perEndpoint.forEach((endpoint, stats) -> {
+            EndpointStats.Summary summary = stats.summarize(elapsed);
+            if (summary.requests() > 0) {
+                summaries.put(endpoint, summary);
+            }
+        });
+        return new Result(summaries, measured.total.summarize(elapsed));
+    }
+
+    /*
+     * Every burst interval, creates a batch of employees concurrently, then deletes them again, so reads keep hitting
+     * the employees the run started with.
+     */
+    private void burst(Workload workload) throws InterruptedException {
+
+        while (running) {
+
+            Thread.sleep(workload.getBurstInterval().toMillis());
+
+            if (!running) {
+                return;
+            }
+
+            List<String> created = new ArrayList<>();
+
+            try (ExecutorService burst = Executors.newVirtualThreadPerTaskExecutor()) {
+
+                List<Future<HttpResponse<String>>> creates = new ArrayList<>();
+                for (int i = 0; i < workload.getBurstSize(); i++) {
+                    creates.add(burst.submit(
+                            () -> send(Endpoint.CREATE, createRequest(ThreadLocalRandom.current()))));
+                }
+
+                for (Future<HttpResponse<String>> create : creates) {
+                    String id = createdId(create);
+                    if (id != null) {
+                        created.add(id);
+                    }
+                }
+
+                for (String id : created) {
+                    burst.submit(() -> send(
+                            Endpoint.DELETE,
+                            HttpRequest.newBuilder(URI.create(employeesUrl + "/" + id))
+                                    .DELETE()
+                                    .build()));
+                }
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, RandomGenerator random) {
+
+        String url =
+                switch (endpoint) {
+                    case GET_ALL -> employeesUrl;
+                    case SEARCH -> employeesUrl + "/search/"
+                            + URLEncoder.encode(pick(searchStrings, random), StandardCharsets.UTF_8);
+                    case GET_BY_ID -> employeesUrl + "/" + pick(employeeIds, random);
+                    case HIGHEST_SALARY -> employeesUrl + "/highestSalary";
+                    case TOP_TEN -> employeesUrl + "/topTenHighestEarningEmployeeNames";
+                    case CREATE, DELETE -> throw new IllegalArgumentException(endpoint + " is only sent in bursts");
+                };
+
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private HttpRequest createRequest(RandomGenerator random) throws JsonProcessingException {
+
+        String body = objectMapper.writeValueAsString(Map.of(
+                "name", "Load Test " + random.nextInt(1_000_000),
+                "salary", random.nextInt(30_000, 500_000),
+                "age", random.nextInt(16, 76),
+                "title", "Load Tester"));
+
+        return HttpRequest.newBuilder(URI.create(employeesUrl))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * @return the id of the created employee, or {@code null} if the create failed
+     */
+    private String createdId(Future<HttpResponse<String>> create) throws InterruptedException {
+        try {
+            HttpResponse<String> response = create.get();
+            if (response == null || response.statusCode() != 200) {
+                return null;
+            }
+            return objectMapper.readTree(response.body()).path("id").asText(null);
+        } catch (ExecutionException | IOException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the response, or {@code null} when the request failed without one
+     */
+    private HttpResponse<String> send(Endpoint endpoint, HttpRequest request) {
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException exception) {
+            // Counted as an error below.
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        long latency = System.nanoTime() - start;
+        int status = response == null ? -1 : response.statusCode();
+
+        Recording current = recording;
+        current.perEndpoint.get(endpoint).record(latency, status);
+        current.total.record(latency, status);
+
+        return response;
+    }
+
+    private static String pick(List<String> values, RandomGenerator random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * @param perEndpoint summaries of the endpoints that received requests
+     * @param total summary of all requests
+     */
+    record Result(Map<Endpoint, EndpointStats.Summary> perEndpoint, EndpointStats.Summary total) {}
+
+    private static final class Recording {
+
+        private final Map<Endpoint, EndpointStats> perEndpoint = new EnumMap<>(Endpoint.class);
+
+        private final EndpointStats total = new EndpointStats();
+
+        Recording() {
+            for (Endpoint endpoint : Endpoint.values()) {
+                perEndpoint.put(endpoint, new EndpointStats());
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+/**
+ * Load-test harness: starts the Mock Employee API ({@code server}) and the {@code api} in their own JVMs on local
+ * ports, drives each requested {@link Workload} against the api and reports throughput, latency percentiles and 429s
+ * per endpoint. The report is printed and written to {@code loadtest/build/reports/loadtest}.
+ *
+ * <p>Run with {@code ./gradlew loadtest:loadTest}; see {@link LoadTestOptions} for the options.
+ */
+public final class LoadTest {
+
+    private static final String SERVER_MAIN_CLASS = "com.reliaquest.server.ServerApplication";
+
+    private static final String API_MAIN_CLASS = "com.reliaquest.api.ApiApplication";
+
+    private static final int MIN_SEARCH_LENGTH = 3;
+
+    private static final int MAX_SEARCH_LENGTH = 6;
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        Path reportDirectory = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"));
+        Files.createDirectories(reportDirectory);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        String apiUrl = "http://localhost:" + options.getApiPort();
+        String employeesUrl = apiUrl + "/api/v2/employees";
+
+        long startupBegan = System.nanoTime();
+
+        try (ServiceProcess server = ServiceProcess.start(
+                        "server",
+                        requiredProperty("loadtest.server.classpath"),
+                        SERVER_MAIN_CLASS,
+                        serverProperties(options),
+                        reportDirectory);
+                ServiceProcess api = ServiceProcess.start(
+                        "api",
+                        requiredProperty("loadtest.api.classpath"),
+                        API_MAIN_CLASS,
+                        apiProperties(options),
+                        reportDirectory)) {
+
+            // Any HTTP request would spend the server's request budget, so only wait for its port. The api reports
+            // itself ready once its warm-up is over.
+            server.awaitReady(() -> isListening(options.getServerPort()), options.getStartupTimeout());
+            api.awaitReady(
+                    () -> statusOf(httpClient, apiUrl + "/actuator/health/readiness") == 200,
+                    options.getStartupTimeout());
+
+            JsonNode employees = fetchEmployees(httpClient, objectMapper, employeesUrl, options.getStartupTimeout());
+
+            System.out.printf(
+                    "Server and api ready in %d ms, %d employees%n",
+                    Duration.ofNanos(System.nanoTime() - startupBegan).toMillis(), employees.size());
+
+            LoadGenerator loadGenerator = new LoadGenerator(
+                    httpClient, objectMapper, employeesUrl, employeeIds(employees), searchStrings(employees));
+
+            Path report = reportDirectory.resolve("report-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt");
+
+            try (PrintStream reportFile =
+                    new PrintStream(Files.newOutputStream(report), true, StandardCharsets.UTF_8)) {
+
+                for (Workload workload : options.getWorkloads()) {
+
+                    LoadGenerator.Result result = loadGenerator.run(
+                            workload, options.getConcurrency(), options.getWarmUp(), options.getDuration());
+
+                    String text = format(workload, options, result);
+                    System.out.print(text);
+                    reportFile.print(text);
+                }
+            }
+
+            System.out.println("Report written to " + report);
+        }
+    }
+
+    private static Map<String, String> serverProperties(LoadTestOptions options) {
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", String.valueOf(options.getServerPort()));
+        properties.put("mock.employees.max", String.valueOf(options.getEmployees()));
+        properties.put("mock.request-limit.mode", options.getLimiter());
+        properties.put("mock.request-limit.limit", String.valueOf(options.getLimit()));
+        properties.put("mock.request-limit.backoff", options.getBackoff().toString());
+        properties.putAll(options.getServerProperties());
+        return properties;
+    }
+
+    private static Map<String, String> apiProperties(LoadTestOptions options) {
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", String.valueOf(options.getApiPort()));
+        properties.put("emp.service.url", "http://localhost:" + options.getServerPort() + "/api/v1");
+        properties.putAll(options.getApiProperties());
+        return properties;
+    }
+
+    /*
+     * Lists the employees through the api, retrying while the server's limiter or the api's cold start say no.
+     */
+    private static JsonNode fetchEmployees(
+            HttpClient httpClient, ObjectMapper objectMapper, String employeesUrl, Duration timeout)
+            throws IOException, InterruptedException {
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (true) {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(employeesUrl)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() == 200) {
+                return objectMapper.readTree(response.body());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Could not list employees, last status " + response.statusCode());
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static List<String> employeeIds(JsonNode employees) {
+
+        List<String> ids = new ArrayList<>();
+        employees.forEach(employee -> ids.add(employee.path("id").asText()));
+        return ids;
+    }
+
+    /*
+     * Prefixes of every name part, as a type-ahead would send them, plus one that matches nobody.
+     */
+    private static List<String> searchStrings(JsonNode employees) {
+
+        Set<String> searchStrings = new LinkedHashSet<>();
+
+        employees.forEach(employee -> {
+            for (String part : employee.path("employee_name").asText().split("\\s+")) {
+                String folded = part.toLowerCase(Locale.ROOT);
+                for (int length = MIN_SEARCH_LENGTH;
+                        length <= Math.min(folded.length(), MAX_SEARCH_LENGTH);
+                        length++) {
+                    searchStrings.add(folded.substring(0, length));
+                }
+            }
+        });
+        searchStrings.add("zzqx");
+
+        return new ArrayList<>(searchStrings);
+    }
+
+    private static String format(Workload workload, LoadTestOptions options, LoadGenerator.Result result) {
+
+        StringBuilder text = new StringBuilder();
+
+        text.append(String.format(
+                "%nWorkload %s: %s measured after %s warm-up, %d workers, server limiter %s%n",
+                workload.getName(),
+                options.getDuration(),
+                options.getWarmUp(),
+                options.getConcurrency(),
+                options.describeLimiter()));
+        text.append(String.format(
+                "%-40s %9s %9s %9s %9s %9s %7s %7s%n",
+                "Endpoint", "Requests", "Req/s", "p50 ms", "p99 ms", "p999 ms", "429", "Errors"));
+
+        result.perEndpoint().forEach((endpoint, summary) -> text.append(formatRow(endpoint.getRoute(), summary)));
+        text.append(formatRow("All", result.total()));
+
+        return text.toString();
+    }
+
+    private static String formatRow(String label, EndpointStats.Summary summary) {
+        return String.format(
+                "%-40s %9d %9.1f %9.2f %9.2f %9.2f %7d %7d%n",
+                label,
+                summary.requests(),
+                summary.throughput(),
+                summary.p50().toNanos() / 1e6,
+                summary.p99().toNanos() / 1e6,
+                summary.p999().toNanos() / 1e6,
+                summary.rateLimited(),
+                summary.errors());
+    }
+
+    private static boolean isListening(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", port), 1000);
+            return true;
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
+    private static int statusOf(HttpClient httpClient, String url) {
+        try {
+            return httpClient
+                    .send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode();
+        } catch (IOException exception) {
+            return -1;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static String requiredProperty(String name) {
+        String value = System.getProperty(name);
+        if (value == null) {
+            throw new IllegalStateException(name + " is not set; run through ./gradlew loadtest:loadTest");
+        }
+        return value;
+    }
+}
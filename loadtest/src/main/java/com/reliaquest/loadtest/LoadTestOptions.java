@@ -0,0 +1,113 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command-line options of {@link LoadTest}, each given as {@code --name=value}. Options prefixed with {@code server:}
+ * or {@code api:} are passed through to that application as Spring properties, e.g.
+ * {@code --api:emp.rate-limit.enabled=false}.
+ */
+@Getter
+final class LoadTestOptions {
+
+    private static final String SERVER_PREFIX = "server:";
+
+    private static final String API_PREFIX = "api:";
+
+    /** Comma-separated, run one after the other against the same processes. */
+    private List<Workload> workloads = List.of(Workload.READ_HEAVY);
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    private Duration warmUp = Duration.ofSeconds(10);
+
+    /** Closed-loop workers, each with one request in flight. */
+    private int concurrency = 32;
+
+    /** {@code mock.request-limit.mode} of the server: {@code disabled}, {@code fixed} or {@code random}. */
+    private String limiter = "random";
+
+    /** Server requests before its backoff, with {@code --limiter=fixed}. */
+    private int limit = 10;
+
+    /** Server backoff, with {@code --limiter=fixed}. */
+    private Duration backoff = Duration.ofSeconds(30);
+
+    /** Employees the server starts with. */
+    private int employees = 50;
+
+    private int serverPort = 18112;
+
+    private int apiPort = 18111;
+
+    private Duration startupTimeout = Duration.ofMinutes(2);
+
+    private final Map<String, String> serverProperties = new LinkedHashMap<>();
+
+    private final Map<String, String> apiProperties = new LinkedHashMap<>();
+
+    static LoadTestOptions parse(String[] args) {
+
+        LoadTestOptions options = new LoadTestOptions();
+
+        for (String arg : args) {
+
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            if (name.startsWith(SERVER_PREFIX)) {
+                options.serverProperties.put(name.substring(SERVER_PREFIX.length()), value);
+                continue;
+            }
+            if (name.startsWith(API_PREFIX)) {
+                options.apiProperties.put(name.substring(API_PREFIX.length()), value);
+                continue;
+            }
+
+            switch (name) {
+                case "workload" -> options.workloads = parseWorkloads(value);
+                case "duration" -> options.duration = DurationStyle.detectAndParse(value);
+                case "warm-up" -> options.warmUp = DurationStyle.detectAndParse(value);
+                case "concurrency" -> options.concurrency = Integer.parseInt(value);
+                case "limiter" -> options.limiter = value;
+                case "limit" -> options.limit = Integer.parseInt(value);
+                case "backoff" -> options.backoff = DurationStyle.detectAndParse(value);
+                case "employees" -> options.employees = Integer.parseInt(value);
+                case "server-port" -> options.serverPort = Integer.parseInt(value);
+                case "api-port" -> options.apiPort = Integer.parseInt(value);
+                case "startup-timeout" -> options.startupTimeout = DurationStyle.detectAndParse(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+
+        return options;
+    }
+
+    String describeLimiter() {
+        return switch (limiter) {
+            case "fixed" -> "fixed, " + limit + " requests then " + backoff + " backoff";
+            case "random" -> "random, 5-9 requests then 30-89s backoff";
+            default -> limiter;
+        };
+    }
+
+    private static List<Workload> parseWorkloads(String value) {
+        if (value.equals("all")) {
+            return List.of(Workload.values());
+        }
+        return new ArrayList<>(
+                Arrays.stream(value.split(",")).map(Workload::parse).toList());
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * One of the applications under test, running in its own JVM with its output in {@code <name>.log}.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(250);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(15);
+
+    private final String name;
+
+    private final Process process;
+
+    private final Path log;
+
+    private ServiceProcess(String name, Process process, Path log) {
+        this.name = name;
+        this.process = process;
+        this.log = log;
+    }
+
+    /**
+     * Starts {@code mainClass} on the JVM running the harness, with {@code properties} as Spring Boot command-line
+     * arguments.
+     */
+    static ServiceProcess start(
+            String name, String classpath, String mainClass, Map<String, String> properties, Path logDirectory)
+            throws IOException {
+
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-cp");
+        command.add(classpath);
+        command.add(mainClass);
+        properties.forEach((key, value) -> command.add("--" + key + "=" + value));
+
+        Path log = logDirectory.resolve(name + ".log");
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        return new ServiceProcess(name, process, log);
+    }
+
+    /**
+     * Polls {@code ready} until it holds.
+     *
+     * @throws IllegalStateException if the process exits or {@code timeout} passes first
+     */
+    void awaitReady(BooleanSupplier ready, Duration timeout) throws InterruptedException {
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (!ready.getAsBoolean()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(name + " not ready after " + timeout + ", see " + log);
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Request mixes the harness can drive. Every worker repeatedly picks an endpoint by weight; a workload with bursts
+ * additionally fires {@link #getBurstSize()} concurrent creates every {@link #getBurstInterval()} and deletes the
+ * employees they created.
+ */
+enum Workload {
+
+    /** Dashboards and lookups: mostly id lookups and list reads, no writes. */
+    READ_HEAVY(weights(20, 10, 40, 15, 15), Duration.ZERO, 0),
+
+    /** The read-heavy mix, interrupted by bursts of creates followed by deletes. */
+    WRITE_BURST(weights(20, 10, 40, 15, 15), Duration.ofSeconds(5), 50),
+
+    /** Type-ahead search traffic: name searches with the odd id lookup. */
+    SEARCH_STORM(weights(0, 90, 10, 0, 0), Duration.ZERO, 0);
+
+    private final Map<Endpoint, Integer> weights;
+
+    private final int totalWeight;
+
+    private final Duration burstInterval;
+
+    private final int burstSize;
+
+    Workload(Map<Endpoint, Integer> weights, Duration burstInterval, int burstSize) {
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.burstInterval = burstInterval;
+        this.burstSize = burstSize;
+    }
+
+    static Workload parse(String name) {
+        return valueOf(name.replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    String getName() {
+        return name().replace('_', '-').toLowerCase(Locale.ROOT);
+    }
+
+    Endpoint next(RandomGenerator random) {
+
+        int pick = random.nextInt(totalWeight);
+
+        for (Map.Entry<Endpoint, Integer> weight : weights.entrySet()) {
+            pick -= weight.getValue();
+            if (pick < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Weights of " + this + " do not add up");
+    }
+
+    boolean hasBursts() {
+        return burstSize > 0;
+    }
+
+    Duration getBurstInterval() {
+        return burstInterval;
+    }
+
+    int getBurstSize() {
+        return burstSize;
+    }
+
+    private static Map<Endpoint, Integer> weights(int getAll, int search, int getById, int highestSalary, int topTen) {
+
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        weights.put(Endpoint.GET_ALL, getAll);
+        weights.put(Endpoint.SEARCH, search);
+        weights.put(Endpoint.GET_BY_ID, getById);
+        weights.put(Endpoint.HIGHEST_SALARY, highestSalary);
+        weights.put(Endpoint.TOP_TEN, topTen);
+        return weights;
+    }
+}
@@ -1,9 +1,12 @@
 package com.reliaquest.server;
 
+import com.reliaquest.server.config.RequestLimitProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
+@EnableConfigurationProperties(RequestLimitProperties.class)
 public class ServerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,31 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * How {@link com.reliaquest.server.web.RandomRequestLimitInterceptor} throttles the Mock Employee API, so load tests
+ * can run without the limiter, with a known one, or with the challenge's random one.
+ */
+@Data
+@ConfigurationProperties(prefix = "mock.request-limit")
+public class RequestLimitProperties {
+
+    public enum Mode {
+        /** Every request is served. */
+        DISABLED,
+        /** {@link #limit} requests are served, then everything is rejected with 429 for {@link #backoff}. */
+        FIXED,
+        /** Like {@link #FIXED}, with a limit and backoff drawn at startup. */
+        RANDOM
+    }
+
+    private Mode mode = Mode.RANDOM;
+
+    /** Requests served before the backoff starts, in {@code fixed} mode. */
+    private int limit = 10;
+
+    /** How long requests are rejected once the limit is reached, in {@code fixed} mode. */
+    private Duration backoff = Duration.ofSeconds(30);
+}
@@ -8,6 +8,7 @@ import java.util.Locale;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
@@ -21,10 +22,13 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RequestLimitProperties requestLimitProperties;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
@@ -54,6 +58,11 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        switch (requestLimitProperties.getMode()) {
+            case DISABLED -> log.info("Request limit disabled");
+            case FIXED -> registry.addInterceptor(new RandomRequestLimitInterceptor(
+                    requestLimitProperties.getLimit(), requestLimitProperties.getBackoff()));
+            case RANDOM -> registry.addInterceptor(new RandomRequestLimitInterceptor());
+        }
     }
 }
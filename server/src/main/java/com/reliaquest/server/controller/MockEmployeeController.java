@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/employee")
@@ -26,8 +27,14 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    /**
+     * Answers {@code 304 Not Modified} without a body when {@code If-None-Match} names the current list.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
+    public Response<List<MockEmployee>> getEmployees(WebRequest webRequest) {
+        if (webRequest.checkNotModified(mockEmployeeService.getETag())) {
+            return null;
+        }
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
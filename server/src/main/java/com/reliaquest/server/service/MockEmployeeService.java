@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +26,21 @@ public class MockEmployeeService {
     @Getter
     private final List<MockEmployee> mockEmployees;
 
+    /** Bumped on every create and delete, so clients can tell whether the list changed. */
+    private final AtomicLong version = new AtomicLong();
+
+    /** Tells versions of this run apart from those of an earlier one, which started from 0 as well. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * Strong entity tag of the employee list. Read it before the list: the version is only bumped once the list has
+     * changed, so a tag can be older than the list read after it, which merely costs a client a full reload later,
+     * but never newer, which would let a client keep a list without the change under a tag that claims it.
+     */
+    public String getETag() {
+        return "\"" + epoch + "-" + version.get() + "\"";
+    }
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
         return mockEmployees.stream()
                 .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
@@ -38,6 +54,7 @@ public class MockEmployeeService {
                         faker.twitter().userName().toLowerCase()),
                 input);
         mockEmployees.add(mockEmployee);
+        version.incrementAndGet();
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
@@ -49,6 +66,7 @@ public class MockEmployeeService {
                 .findFirst();
         if (mockEmployee.isPresent()) {
             mockEmployees.remove(mockEmployee.get());
+            version.incrementAndGet();
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }